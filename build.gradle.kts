@@ -153,6 +153,11 @@ tasks {
         gradleVersion = providers.gradleProperty("gradleVersion").get()
     }
 
+    test {
+        // Benchmarks (*Benchmark) are skipped unless run with -Dlegado.benchmark=true
+        systemProperty("legado.benchmark", providers.systemProperty("legado.benchmark").getOrElse("false"))
+    }
+
     publishPlugin {
         dependsOn(patchChangelog)
     }
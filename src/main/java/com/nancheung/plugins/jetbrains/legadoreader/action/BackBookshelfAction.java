@@ -2,6 +2,10 @@ package com.nancheung.plugins.jetbrains.legadoreader.action;
 
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.nancheung.plugins.jetbrains.legadoreader.command.Command;
+import com.nancheung.plugins.jetbrains.legadoreader.command.CommandBus;
+import com.nancheung.plugins.jetbrains.legadoreader.command.CommandType;
 import com.nancheung.plugins.jetbrains.legadoreader.presentation.toolwindow.MainReaderPanel;
 import org.jetbrains.annotations.NotNull;
 
@@ -9,11 +13,17 @@ public class BackBookshelfAction extends AnAction {
 
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
-        backBookshelf();
+        backBookshelf(e.getProject());
     }
 
-    private void backBookshelf() {
-        MainReaderPanel mainPanel = MainReaderPanel.getInstance();
+    private void backBookshelf(Project project) {
+        // 结束阅读会话（取消章节加载和预加载，立即同步阅读进度）
+        CommandBus.getInstance().dispatchAsync(Command.of(CommandType.BACK_TO_BOOKSHELF));
+
+        MainReaderPanel mainPanel = MainReaderPanel.getInstance(project);
+        if (mainPanel == null) {
+            return;
+        }
 
         // 刷新书架
         mainPanel.getBookshelfPanel().refreshBookshelf();
@@ -0,0 +1,34 @@
+package com.nancheung.plugins.jetbrains.legadoreader.action;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterContentLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 清空章节缓存（内存和磁盘）
+ * 书源内容有误或已更新时，清空后重新从服务器获取
+ *
+ * @author NanCheung
+ */
+@Slf4j
+public class ClearChapterCacheAction extends AnAction {
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        ChapterContentLoader.getInstance().clearCaches().whenComplete((ignored, throwable) ->
+                ApplicationManager.getApplication().invokeLater(() -> {
+                    if (throwable != null) {
+                        log.warn("清空章节缓存失败", throwable);
+                        Messages.showErrorDialog(project, "清空章节缓存失败：" + throwable.getMessage(), "Legado Reader");
+                        return;
+                    }
+                    Messages.showInfoMessage(project, "章节缓存已清空", "Legado Reader");
+                }));
+    }
+}
@@ -0,0 +1,73 @@
+package com.nancheung.plugins.jetbrains.legadoreader.action;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.ui.Messages;
+import com.nancheung.plugins.jetbrains.legadoreader.api.ApiUtil;
+import com.nancheung.plugins.jetbrains.legadoreader.command.CommandType;
+import com.nancheung.plugins.jetbrains.legadoreader.presentation.common.UIEventSubscriber;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterContentCache;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterPrefetchService;
+import com.nancheung.plugins.jetbrains.legadoreader.service.CommandLatencyTracker;
+import com.nancheung.plugins.jetbrains.legadoreader.service.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * 显示诊断信息
+ * 各指令的端到端延迟、各阶段（网络、解析、分页、指令处理、EDT）的延迟，以及缓存、预加载等统计
+ *
+ * @author NanCheung
+ */
+public class ShowDiagnosticsAction extends AnAction {
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Messages.showInfoMessage(e.getProject(), buildReport(), "Legado Reader 诊断信息");
+    }
+
+    private String buildReport() {
+        CommandLatencyTracker tracker = CommandLatencyTracker.getInstance();
+        StringBuilder report = new StringBuilder();
+
+        report.append("指令延迟（分发到 UI 完成）\n");
+        Map<CommandType, LatencyHistogram.Snapshot> commandStats = tracker.getCommandStats();
+        if (commandStats.isEmpty()) {
+            report.append("  暂无数据\n");
+        }
+        commandStats.forEach((type, snapshot) -> appendLine(report, type.getDescription(), snapshot));
+
+        report.append("\n阶段延迟\n");
+        tracker.getStageStats().forEach((stage, snapshot) -> appendLine(report, stage.getDescription(), snapshot));
+
+        ChapterContentCache.CacheStats cacheStats = ChapterContentCache.getInstance().getStats();
+        ChapterPrefetchService.PrefetchStats prefetchStats = ChapterPrefetchService.getInstance().getStats();
+        report.append("\n章节缓存：命中率 %.0f%%，%d 章，%d 字\n".formatted(
+                cacheStats.hitRate() * 100, cacheStats.entries(), cacheStats.totalChars()));
+        report.append("章节预加载：发起 %d，命中率 %.0f%%，取消 %d\n".formatted(
+                prefetchStats.issued(), prefetchStats.hitRate() * 100, prefetchStats.cancelled()));
+        report.append("合并的请求：%d\n".formatted(ApiUtil.getCoalescedRequestCount()));
+        report.append("事件订阅器：%d\n".formatted(UIEventSubscriber.getLiveSubscriberCount()));
+
+        return report.toString();
+    }
+
+    private void appendLine(StringBuilder report, String name, LatencyHistogram.Snapshot snapshot) {
+        if (snapshot.count() == 0) {
+            report.append("  %s：暂无数据\n".formatted(name));
+            return;
+        }
+        report.append("  %s：%d 次，P50 %s，P95 %s，P99 %s，最大 %s\n".formatted(
+                name,
+                snapshot.count(),
+                formatMillis(snapshot.p50Micros()),
+                formatMillis(snapshot.p95Micros()),
+                formatMillis(snapshot.p99Micros()),
+                formatMillis(snapshot.maxMicros())));
+    }
+
+    private String formatMillis(long micros) {
+        return "%.1f ms".formatted(micros / 1000.0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.nancheung.plugins.jetbrains.legadoreader.api;
+
+import com.nancheung.plugins.jetbrains.legadoreader.common.LatencyStage;
+
+/**
+ * API 耗时记录器
+ * 只在请求成功时记录网络和解析耗时（失败和取消的请求不计入）：网络耗时由 {@link RequestCoalescer} 按实际发出的请求记录，
+ * 合并的 GET 请求只记录一次；解析耗时由 ApiUtil 按调用方记录
+ * 通过 {@link ApiUtil#setLatencyRecorder(ApiLatencyRecorder)} 设置，默认不记录
+ *
+ * @author NanCheung
+ */
+@FunctionalInterface
+public interface ApiLatencyRecorder {
+
+    /**
+     * 不记录
+     */
+    ApiLatencyRecorder NONE = (stage, nanos) -> {
+    };
+
+    /**
+     * 记录阶段耗时
+     *
+     * @param stage 阶段（网络请求或响应解析）
+     * @param nanos 耗时（纳秒）
+     */
+    void record(LatencyStage stage, long nanos);
+}
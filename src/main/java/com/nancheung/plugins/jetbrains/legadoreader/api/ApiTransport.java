@@ -0,0 +1,58 @@
+package com.nancheung.plugins.jetbrains.legadoreader.api;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * API 传输层
+ * 抽象底层 HTTP 调用，ApiUtil 只负责拼装地址和解析结果
+ * 默认实现为 {@link HttpClientTransport}，可通过 {@link ApiUtil#setTransport(ApiTransport)} 替换
+ *
+ * @author NanCheung
+ */
+public interface ApiTransport {
+
+    /**
+     * 发送 GET 请求
+     *
+     * @param url    请求地址（可不带协议头，默认 http）
+     * @param params 附加的查询参数
+     * @return 响应体文本
+     * @throws IOException          网络异常或响应状态码非 2xx
+     * @throws InterruptedException 等待响应时被中断
+     */
+    String get(String url, Map<String, Object> params) throws IOException, InterruptedException;
+
+    /**
+     * 发送 POST 请求（JSON 请求体）
+     *
+     * @param url      请求地址（可不带协议头，默认 http）
+     * @param params   附加的查询参数
+     * @param jsonBody JSON 请求体
+     * @return 响应体文本
+     * @throws IOException          网络异常或响应状态码非 2xx
+     * @throws InterruptedException 等待响应时被中断
+     */
+    String post(String url, Map<String, Object> params, String jsonBody) throws IOException, InterruptedException;
+
+    /**
+     * 异步发送 GET 请求
+     * 等待响应期间不占用调用线程，取消返回的 Future 会中止请求
+     *
+     * @param url    请求地址（可不带协议头，默认 http）
+     * @param params 附加的查询参数
+     * @return 响应体文本的 Future，网络异常或响应状态码非 2xx 时异常完成
+     */
+    CompletableFuture<String> getAsync(String url, Map<String, Object> params);
+
+    /**
+     * 异步发送 POST 请求（JSON 请求体）
+     *
+     * @param url      请求地址（可不带协议头，默认 http）
+     * @param params   附加的查询参数
+     * @param jsonBody JSON 请求体
+     * @return 响应体文本的 Future，网络异常或响应状态码非 2xx 时异常完成
+     */
+    CompletableFuture<String> postAsync(String url, Map<String, Object> params, String jsonBody);
+}
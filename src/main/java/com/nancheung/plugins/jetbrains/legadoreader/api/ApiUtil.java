@@ -2,20 +2,21 @@ package com.nancheung.plugins.jetbrains.legadoreader.api;
 
 import cn.hutool.core.lang.TypeReference;
 import cn.hutool.core.util.URLUtil;
-import cn.hutool.http.HttpResponse;
-import cn.hutool.http.HttpUtil;
 import cn.hutool.json.JSONUtil;
 import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookChapterDTO;
 import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookDTO;
 import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookProgressDTO;
 import com.nancheung.plugins.jetbrains.legadoreader.api.dto.R;
-import com.nancheung.plugins.jetbrains.legadoreader.manager.ReadingSessionManager;
+import com.nancheung.plugins.jetbrains.legadoreader.common.FutureUtil;
+import com.nancheung.plugins.jetbrains.legadoreader.common.LatencyStage;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.AddressHistoryStorage;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
 import lombok.experimental.UtilityClass;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -26,97 +27,229 @@ import java.util.stream.Collectors;
 @UtilityClass
 public class ApiUtil {
 
+    /**
+     * 自定义传输层（为 null 时使用默认的 HttpClientTransport）
+     */
+    private volatile ApiTransport transport;
+
+    /**
+     * 耗时记录器（只记录成功的请求）
+     */
+    private volatile ApiLatencyRecorder latencyRecorder = ApiLatencyRecorder.NONE;
+
+    /**
+     * 合并进行中的相同 GET 请求，实际请求交给 {@link #rawTransport()}；网络耗时由它按实际发出的请求记录
+     */
+    private final RequestCoalescer coalescer = new RequestCoalescer(ApiUtil::rawTransport, () -> latencyRecorder);
+
+    /**
+     * 替换 API 传输层
+     * 用于接入自定义实现（如测试桩、基准测试），传入 null 恢复默认实现
+     *
+     * @param apiTransport 传输层实现
+     */
+    public void setTransport(ApiTransport apiTransport) {
+        transport = apiTransport;
+    }
+
+    /**
+     * 设置耗时记录器（插件启动时设置为 CommandLatencyTracker）
+     * 传入 null 时不记录
+     *
+     * @param recorder 耗时记录器
+     */
+    public void setLatencyRecorder(ApiLatencyRecorder recorder) {
+        latencyRecorder = recorder != null ? recorder : ApiLatencyRecorder.NONE;
+    }
+
+    /**
+     * 获取被合并的 GET 请求数（复用了进行中的相同请求，未实际发出）
+     *
+     * @return 被合并的请求数
+     */
+    public long getCoalescedRequestCount() {
+        return coalescer.getCoalescedCount();
+    }
+
     /**
      * 获取书架目录列表
      *
      * @return 书架目录列表
      */
     public List<BookDTO> getBookshelf() {
-        String url = AddressHistoryStorage.getInstance().getMostRecent() + AddressEnum.GET_BOOKSHELF.getAddress();
-
-        R<List<BookDTO>> r = get(url, new TypeReference<>() {
+        R<List<BookDTO>> r = get(bookshelfUrl(), new TypeReference<>() {
         });
 
         return r.getData();
     }
 
+    /**
+     * 异步获取书架目录列表
+     *
+     * @return 书架目录列表的 Future
+     */
+    public CompletableFuture<List<BookDTO>> getBookshelfAsync() {
+        return FutureUtil.map(getAsync(bookshelfUrl(), new TypeReference<R<List<BookDTO>>>() {
+        }), R::getData);
+    }
+
     /**
      * 获取正文内容
      *
      * @return 正文内容
      */
     public String getBookContent(String bookUrl, int bookIndex) {
-        // 调用 API获取正文内容
-        String url = AddressHistoryStorage.getInstance().getMostRecent() + AddressEnum.GET_BOOK_CONTENT.getAddress() + "?url=" + URLUtil.encodeAll(bookUrl) + "&index=" + bookIndex;
-
-        R<String> r = get(url, new TypeReference<>() {
+        R<String> r = get(bookContentUrl(bookUrl, bookIndex), new TypeReference<>() {
         });
 
         return r.getData();
     }
 
+    /**
+     * 异步获取正文内容
+     * 等待响应期间不占用线程
+     *
+     * @return 正文内容的 Future
+     */
+    public CompletableFuture<String> getBookContentAsync(String bookUrl, int bookIndex) {
+        return FutureUtil.map(getAsync(bookContentUrl(bookUrl, bookIndex), new TypeReference<R<String>>() {
+        }), R::getData);
+    }
+
     /**
      * 获取章节目录列表
      *
      * @return 章节目录列表
      */
     public List<BookChapterDTO> getChapterList(String bookUrl) {
-        // 调用 API获取书架目录
-        String url = AddressHistoryStorage.getInstance().getMostRecent() + AddressEnum.GET_CHAPTER_LIST.getAddress() + "?url=" + URLUtil.encodeAll(bookUrl);
-
-        R<List<BookChapterDTO>> r = get(url, new TypeReference<>() {
+        R<List<BookChapterDTO>> r = get(chapterListUrl(bookUrl), new TypeReference<>() {
         });
 
         return r.getData();
     }
 
+    /**
+     * 异步获取章节目录列表
+     *
+     * @return 章节目录列表的 Future
+     */
+    public CompletableFuture<List<BookChapterDTO>> getChapterListAsync(String bookUrl) {
+        return FutureUtil.map(getAsync(chapterListUrl(bookUrl), new TypeReference<R<List<BookChapterDTO>>>() {
+        }), R::getData);
+    }
+
     /**
      * 保存阅读进度
+     *
+     * @param progress 阅读进度
      */
-    public void saveBookProgress(String author, String name, int index, String title, int durChapterPos) {
-        // 调用 API获取书架目录
-        String url = AddressHistoryStorage.getInstance().getMostRecent() + AddressEnum.SAVE_BOOK_PROGRESS.getAddress();
-
-        BookProgressDTO bookProgressDTO = BookProgressDTO.builder()
-                .author(author)
-                .name(name)
-                .durChapterIndex(index)
-                .durChapterTitle(title)
-                .durChapterTime(System.currentTimeMillis())
-                .durChapterPos(durChapterPos)
-                .url(ReadingSessionManager.getInstance().getCurrentBook().getBookUrl())
-                .index(index)
-                .build();
-
-        post(url, bookProgressDTO, new TypeReference<>() {
+    public void saveBookProgress(BookProgressDTO progress) {
+        post(saveBookProgressUrl(), progress, new TypeReference<>() {
         });
     }
 
+    /**
+     * 异步保存阅读进度
+     *
+     * @param progress 阅读进度
+     * @return 保存完成的 Future
+     */
+    public CompletableFuture<Void> saveBookProgressAsync(BookProgressDTO progress) {
+        return postAsync(saveBookProgressUrl(), progress, new TypeReference<R<Object>>() {
+        }).thenApply(r -> null);
+    }
+
+    private String bookshelfUrl() {
+        return AddressHistoryStorage.getInstance().getMostRecent() + AddressEnum.GET_BOOKSHELF.getAddress();
+    }
+
+    private String bookContentUrl(String bookUrl, int bookIndex) {
+        return AddressHistoryStorage.getInstance().getMostRecent() + AddressEnum.GET_BOOK_CONTENT.getAddress() + "?url=" + URLUtil.encodeAll(bookUrl) + "&index=" + bookIndex;
+    }
+
+    private String chapterListUrl(String bookUrl) {
+        return AddressHistoryStorage.getInstance().getMostRecent() + AddressEnum.GET_CHAPTER_LIST.getAddress() + "?url=" + URLUtil.encodeAll(bookUrl);
+    }
+
+    private String saveBookProgressUrl() {
+        return AddressHistoryStorage.getInstance().getMostRecent() + AddressEnum.SAVE_BOOK_PROGRESS.getAddress();
+    }
 
     private <R> R get(String url, TypeReference<R> typeReference) {
+        Map<String, Object> params = parseCustomParams();
         String textBody;
 
         try {
-            textBody = HttpUtil.get(url, parseCustomParams());
+            textBody = transport().get(url, params);
         } catch (Exception e) {
-            throw new RuntimeException(String.format("\n%s：%s\n参数：\n%s\n", "调用API失败", url, parseCustomParams()), e);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RuntimeException(String.format("\n%s：%s\n参数：\n%s\n", "调用API失败", url, params), e);
         }
 
-        return JSONUtil.toBean(textBody, typeReference, true);
+        return parse(textBody, typeReference);
     }
 
     private <R> R post(String url, Object body, TypeReference<R> typeReference) {
+        Map<String, Object> params = parseCustomParams();
         String textBody;
-        try (HttpResponse execute = HttpUtil.createPost(url)
-                .form(parseCustomParams())
-                .body(JSONUtil.toJsonStr(body))
-                .execute()) {
-            textBody = execute.body();
+
+        try {
+            textBody = transport().post(url, params, JSONUtil.toJsonStr(body));
         } catch (Exception e) {
-            throw new RuntimeException(String.format("\n%s：%s\n参数：\n%s\n%s\n", "调用API失败", url, parseCustomParams(), body), e);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RuntimeException(String.format("\n%s：%s\n参数：\n%s\n%s\n", "调用API失败", url, params, body), e);
         }
 
-        return JSONUtil.toBean(textBody, typeReference, true);
+        return parse(textBody, typeReference);
+    }
+
+    private <R> CompletableFuture<R> getAsync(String url, TypeReference<R> typeReference) {
+        Map<String, Object> params = parseCustomParams();
+        CompletableFuture<String> response = transport().getAsync(url, params);
+
+        return FutureUtil.propagateCancel(response.handle((textBody, throwable) -> {
+            if (throwable != null) {
+                throw new CompletionException(new RuntimeException(
+                        String.format("\n%s：%s\n参数：\n%s\n", "调用API失败", url, params), FutureUtil.unwrap(throwable)));
+            }
+            return parse(textBody, typeReference);
+        }), response);
+    }
+
+    private <R> CompletableFuture<R> postAsync(String url, Object body, TypeReference<R> typeReference) {
+        Map<String, Object> params = parseCustomParams();
+        CompletableFuture<String> response = transport().postAsync(url, params, JSONUtil.toJsonStr(body));
+
+        return FutureUtil.propagateCancel(response.handle((textBody, throwable) -> {
+            if (throwable != null) {
+                throw new CompletionException(new RuntimeException(
+                        String.format("\n%s：%s\n参数：\n%s\n%s\n", "调用API失败", url, params, body), FutureUtil.unwrap(throwable)));
+            }
+            return parse(textBody, typeReference);
+        }), response);
+    }
+
+    /**
+     * 解析响应并记录解析耗时（解析失败时不记录）
+     */
+    private <R> R parse(String textBody, TypeReference<R> typeReference) {
+        long start = System.nanoTime();
+        R result = JSONUtil.toBean(textBody, typeReference, true);
+        latencyRecorder.record(LatencyStage.PARSING, System.nanoTime() - start);
+        return result;
+    }
+
+    private ApiTransport transport() {
+        return coalescer;
+    }
+
+    private ApiTransport rawTransport() {
+        ApiTransport current = transport;
+        return current != null ? current : HttpClientTransport.getInstance();
     }
 
     /**
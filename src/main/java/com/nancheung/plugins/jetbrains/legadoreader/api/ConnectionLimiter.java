@@ -0,0 +1,129 @@
+package com.nancheung.plugins.jetbrains.legadoreader.api;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 非阻塞的并发连接限制器
+ * 拿到许可的任务交给执行器运行，其余任务排队；许可归还时把下一个排队的任务交给执行器，
+ * 而不是在归还线程上直接运行（归还通常发生在上一个请求的完成回调中，直接运行会层层递归）
+ * <p>
+ * 停用后不再接受新任务，已排队和进行中的任务照常完成，全部完成后执行停用回调（如关闭客户端）
+ * <p>
+ * 执行器拒绝运行任务（插件卸载中）时归还许可并调用任务的拒绝回调，由提交方让等待结果的调用方失败
+ *
+ * @author NanCheung
+ */
+@Slf4j
+final class ConnectionLimiter {
+
+    private final Semaphore permits;
+    private final Executor executor;
+    private final Queue<Task> waiting = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 已提交但尚未归还许可的任务数（排队中 + 进行中）
+     */
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicBoolean idleCallbackRun = new AtomicBoolean();
+    private volatile Runnable onRetired;
+
+    /**
+     * @param maxConnections 最大并发数
+     * @param executor       运行任务的执行器
+     */
+    ConnectionLimiter(int maxConnections, Executor executor) {
+        this.permits = new Semaphore(maxConnections);
+        this.executor = executor;
+    }
+
+    /**
+     * 提交任务，任务执行时已持有一个许可，完成后必须调用且只调用一次 {@link #release()}
+     * 任务被执行器拒绝时不会运行，许可已自动归还，改为调用拒绝回调
+     *
+     * @param task       任务
+     * @param onRejected 拒绝回调
+     */
+    void submit(Runnable task, Consumer<RejectedExecutionException> onRejected) {
+        outstanding.incrementAndGet();
+        waiting.add(new Task(task, onRejected));
+        drain();
+    }
+
+    /**
+     * 归还许可，并把下一个排队的任务交给执行器
+     */
+    void release() {
+        returnPermit();
+        drain();
+    }
+
+    /**
+     * 停用：所有已提交的任务完成后执行回调（没有任务时立即执行）
+     *
+     * @param callback 停用回调
+     */
+    void retire(Runnable callback) {
+        onRetired = callback;
+        if (outstanding.get() == 0) {
+            runIdleCallbackIfRetired();
+        }
+    }
+
+    /**
+     * 已提交但尚未完成的任务数
+     */
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Task next = waiting.poll();
+            if (next == null) {
+                permits.release();
+                continue;
+            }
+            try {
+                executor.execute(next.task());
+            } catch (RejectedExecutionException e) {
+                // 执行器已关闭（插件卸载中），任务不会再运行；在循环中继续处理其余排队的任务，不递归
+                log.debug("连接任务被拒绝执行", e);
+                returnPermit();
+                next.onRejected().accept(e);
+            }
+        }
+    }
+
+    private void returnPermit() {
+        permits.release();
+        if (outstanding.decrementAndGet() == 0) {
+            runIdleCallbackIfRetired();
+        }
+    }
+
+    private void runIdleCallbackIfRetired() {
+        Runnable callback = onRetired;
+        if (callback != null && idleCallbackRun.compareAndSet(false, true)) {
+            callback.run();
+        }
+    }
+
+    /**
+     * 排队的任务
+     *
+     * @param task       任务
+     * @param onRejected 拒绝回调
+     */
+    private record Task(Runnable task, Consumer<RejectedExecutionException> onRejected) {
+    }
+}
@@ -0,0 +1,280 @@
+package com.nancheung.plugins.jetbrains.legadoreader.api;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.nancheung.plugins.jetbrains.legadoreader.common.FutureUtil;
+import com.nancheung.plugins.jetbrains.legadoreader.service.PluginExecutorService;
+import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * 基于 java.net.http.HttpClient 的 API 传输层（Application Service）
+ * 按服务器地址复用 HttpClient，保持长连接，避免每次翻章都重新握手
+ * 连接超时、读取超时和每个地址的最大并发连接数来自 {@link PluginSettingsStorage.State}
+ * 所有请求均以非阻塞方式发出，同步方法只是等待异步结果
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class HttpClientTransport implements ApiTransport, Disposable {
+
+    /**
+     * 连接超时的取值范围（毫秒）
+     */
+    public static final int MIN_CONNECT_TIMEOUT_MILLIS = 500;
+    public static final int MAX_CONNECT_TIMEOUT_MILLIS = 60_000;
+
+    /**
+     * 读取超时的取值范围（毫秒）
+     */
+    public static final int MIN_READ_TIMEOUT_MILLIS = 1_000;
+    public static final int MAX_READ_TIMEOUT_MILLIS = 300_000;
+
+    /**
+     * 每个地址的最大并发连接数上限
+     */
+    public static final int MAX_CONNECTIONS = 16;
+
+    /**
+     * 按服务器地址（scheme://host:port）缓存的客户端，访问需持有实例锁
+     */
+    private final Map<String, ClientHolder> clients = new HashMap<>();
+
+    /**
+     * 获取单例实例
+     */
+    public static HttpClientTransport getInstance() {
+        return ApplicationManager.getApplication().getService(HttpClientTransport.class);
+    }
+
+    @Override
+    public String get(String url, Map<String, Object> params) throws IOException, InterruptedException {
+        return await(getAsync(url, params));
+    }
+
+    @Override
+    public String post(String url, Map<String, Object> params, String jsonBody) throws IOException, InterruptedException {
+        return await(postAsync(url, params, jsonBody));
+    }
+
+    @Override
+    public CompletableFuture<String> getAsync(String url, Map<String, Object> params) {
+        URI uri = buildUri(url, params);
+        HttpRequest request = newRequest(uri).GET().build();
+        return sendAsync(uri, request);
+    }
+
+    @Override
+    public CompletableFuture<String> postAsync(String url, Map<String, Object> params, String jsonBody) {
+        URI uri = buildUri(url, params);
+        HttpRequest request = newRequest(uri)
+                .header("Content-Type", "application/json;charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8))
+                .build();
+        return sendAsync(uri, request);
+    }
+
+    /**
+     * 异步发送请求
+     * 同一地址的并发请求数受连接池大小限制，超出时在队列中等待（不占用线程）
+     * 取消返回的 Future 会中止正在进行的请求
+     */
+    private CompletableFuture<String> sendAsync(URI uri, HttpRequest request) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+
+        // 取得客户端和提交请求在同一把锁内，客户端被替换后不会再收到新请求
+        synchronized (this) {
+            ClientHolder holder = clientFor(uri);
+            holder.limiter().submit(() -> send(holder, uri, request, result), result::completeExceptionally);
+        }
+
+        return result;
+    }
+
+    /**
+     * 在已持有连接许可的情况下发送请求，完成后归还许可
+     */
+    private static void send(ClientHolder holder, URI uri, HttpRequest request, CompletableFuture<String> result) {
+        // 排队期间已被取消，直接归还许可
+        if (result.isDone()) {
+            holder.limiter().release();
+            return;
+        }
+
+        CompletableFuture<HttpResponse<String>> exchange;
+        try {
+            exchange = holder.client().sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            holder.limiter().release();
+            result.completeExceptionally(e);
+            return;
+        }
+
+        exchange.whenComplete((response, throwable) -> {
+            holder.limiter().release();
+            if (throwable != null) {
+                result.completeExceptionally(FutureUtil.unwrap(throwable));
+            } else if (response.statusCode() / 100 != 2) {
+                result.completeExceptionally(new IOException("HTTP " + response.statusCode() + "：" + uri));
+            } else {
+                result.complete(response.body());
+            }
+        });
+
+        // 调用方取消时中止底层请求
+        result.whenComplete((body, throwable) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * 等待异步请求结果，失败时统一转换为 IOException
+     */
+    static String await(CompletableFuture<String> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = FutureUtil.unwrap(e);
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 获取服务器地址对应的客户端
+     * 设置变更（超时、连接池大小）或切换服务器地址时在锁内整体替换，
+     * 被替换的客户端等已提交的请求全部完成后再关闭，不会在已关闭的客户端上发送请求
+     * 调用方需持有实例锁
+     */
+    private ClientHolder clientFor(URI uri) {
+        String address = uri.getScheme() + "://" + uri.getAuthority();
+        ClientConfig config = ClientConfig.fromSettings();
+
+        ClientHolder current = clients.get(address);
+        if (current != null && current.config().equals(config)) {
+            return current;
+        }
+
+        // 只会使用最近的服务器地址，其余地址的客户端一并停用
+        clients.values().forEach(HttpClientTransport::retire);
+        clients.clear();
+
+        log.info("创建 HTTP 客户端: address={}, config={}", address, config);
+        ClientHolder created = new ClientHolder(config, newClient(config),
+                new ConnectionLimiter(config.maxConnections(), PluginExecutorService.getInstance().executor()));
+        clients.put(address, created);
+        return created;
+    }
+
+    /**
+     * 停用客户端：不再分配新请求，已提交的请求完成后关闭
+     */
+    private static void retire(ClientHolder holder) {
+        holder.limiter().retire(() -> {
+            holder.client().shutdown();
+            log.debug("已关闭停用的 HTTP 客户端: {}", holder.config());
+        });
+    }
+
+    private HttpClient newClient(ClientConfig config) {
+        return HttpClient.newBuilder()
+                // 阅读 web 服务只支持 HTTP/1.1，避免 h2c 升级协商
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(config.connectTimeoutMillis()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                // 响应处理和异步回调在插件自己的执行器上运行，不占用公共线程池
+                .executor(PluginExecutorService.getInstance().executor())
+                .build();
+    }
+
+    private HttpRequest.Builder newRequest(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(ClientConfig.fromSettings().readTimeoutMillis()));
+    }
+
+    /**
+     * 构造请求 URI
+     * 地址历史中保存的地址通常不带协议头（如 127.0.0.1:1122），默认补全为 http
+     */
+    private static URI buildUri(String url, Map<String, Object> params) {
+        String fullUrl = url.contains("://") ? url : "http://" + url;
+
+        if (params != null && !params.isEmpty()) {
+            String query = params.entrySet().stream()
+                    .map(e -> encode(e.getKey()) + "=" + encode(String.valueOf(e.getValue())))
+                    .collect(Collectors.joining("&"));
+            fullUrl += (fullUrl.contains("?") ? "&" : "?") + query;
+        }
+
+        return URI.create(fullUrl);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 关闭所有客户端（由 IntelliJ Platform 在应用关闭时自动调用）
+     */
+    @Override
+    public synchronized void dispose() {
+        clients.values().forEach(holder -> holder.client().shutdownNow());
+        clients.clear();
+        log.info("HttpClientTransport 已关闭");
+    }
+
+    /**
+     * 客户端配置快照
+     *
+     * @param connectTimeoutMillis 连接超时（毫秒）
+     * @param readTimeoutMillis    读取超时（毫秒）
+     * @param maxConnections       每个地址的最大并发连接数
+     */
+    private record ClientConfig(int connectTimeoutMillis, int readTimeoutMillis, int maxConnections) {
+
+        /**
+         * 读取设置，未设置时使用默认值，超出范围时限制在范围内
+         */
+        static ClientConfig fromSettings() {
+            PluginSettingsStorage.State state = PluginSettingsStorage.getInstance().getState();
+            return new ClientConfig(
+                    clamp(state.apiConnectTimeoutMillis, 5_000, MIN_CONNECT_TIMEOUT_MILLIS, MAX_CONNECT_TIMEOUT_MILLIS),
+                    clamp(state.apiReadTimeoutMillis, 15_000, MIN_READ_TIMEOUT_MILLIS, MAX_READ_TIMEOUT_MILLIS),
+                    clamp(state.apiMaxConnections, 4, 1, MAX_CONNECTIONS)
+            );
+        }
+
+        private static int clamp(Integer value, int defaultValue, int min, int max) {
+            return value != null ? Math.max(min, Math.min(max, value)) : defaultValue;
+        }
+    }
+
+    /**
+     * 客户端及其连接许可
+     */
+    private record ClientHolder(ClientConfig config, HttpClient client, ConnectionLimiter limiter) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.nancheung.plugins.jetbrains.legadoreader.api;
+
+import com.nancheung.plugins.jetbrains.legadoreader.common.FutureUtil;
+import com.nancheung.plugins.jetbrains.legadoreader.common.LatencyStage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并传输层（装饰器）
+ * 同一 URL + 参数的 GET 请求在进行中时，后续调用不再发出新请求，而是共享同一个响应
+ * 如预加载、翻章指令同时请求同一章节时只会产生一次 HTTP 请求
+ * <p>
+ * 每个调用方拿到各自的 Future：单个调用方取消只影响自己，
+ * 所有调用方都取消后才会中止底层请求。POST 请求不做合并，直接透传
+ * <p>
+ * 网络耗时在实际发出的请求成功完成时记录一次，共享该请求的调用方不重复记录
+ *
+ * @author NanCheung
+ */
+@Slf4j
+public final class RequestCoalescer implements ApiTransport {
+
+    private final Supplier<ApiTransport> delegate;
+
+    private final Supplier<ApiLatencyRecorder> latencyRecorder;
+
+    /**
+     * 进行中的请求，key 为 URL + 排序后的参数
+     */
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * 被合并（未实际发出）的请求数
+     */
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * @param delegate 实际发送请求的传输层（每次请求时获取，便于替换实现）
+     */
+    public RequestCoalescer(Supplier<ApiTransport> delegate) {
+        this(delegate, () -> ApiLatencyRecorder.NONE);
+    }
+
+    /**
+     * @param delegate        实际发送请求的传输层（每次请求时获取，便于替换实现）
+     * @param latencyRecorder 网络耗时记录器（每次记录时获取，便于替换实现）
+     */
+    public RequestCoalescer(Supplier<ApiTransport> delegate, Supplier<ApiLatencyRecorder> latencyRecorder) {
+        this.delegate = delegate;
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    @Override
+    public String get(String url, Map<String, Object> params) throws IOException, InterruptedException {
+        return HttpClientTransport.await(getAsync(url, params));
+    }
+
+    @Override
+    public String post(String url, Map<String, Object> params, String jsonBody) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        String body = delegate.get().post(url, params, jsonBody);
+        recordNetwork(start);
+        return body;
+    }
+
+    @Override
+    public CompletableFuture<String> getAsync(String url, Map<String, Object> params) {
+        String key = key(url, params);
+
+        while (true) {
+            Flight created = new Flight();
+            Flight flight = flights.putIfAbsent(key, created);
+
+            if (flight == null) {
+                flight = created;
+                start(key, created, url, params);
+            } else {
+                coalesced.incrementAndGet();
+                log.debug("合并进行中的请求: {}", key);
+            }
+
+            CompletableFuture<String> view = flight.join();
+            if (view != null) {
+                return view;
+            }
+            // 该请求的调用方已全部取消、正在中止，重新发起
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> postAsync(String url, Map<String, Object> params, String jsonBody) {
+        long start = System.nanoTime();
+        CompletableFuture<String> request = delegate.get().postAsync(url, params, jsonBody);
+        request.whenComplete((body, throwable) -> {
+            if (throwable == null) {
+                recordNetwork(start);
+            }
+        });
+        return request;
+    }
+
+    /**
+     * 被合并（未实际发出）的请求数
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    private void start(String key, Flight flight, String url, Map<String, Object> params) {
+        flight.shared.whenComplete((body, throwable) -> flights.remove(key, flight));
+
+        long start = System.nanoTime();
+        CompletableFuture<String> request;
+        try {
+            request = delegate.get().getAsync(url, params);
+        } catch (RuntimeException e) {
+            flight.shared.completeExceptionally(e);
+            return;
+        }
+
+        request.whenComplete((body, throwable) -> {
+            if (throwable != null) {
+                flight.shared.completeExceptionally(FutureUtil.unwrap(throwable));
+            } else {
+                recordNetwork(start);
+                flight.shared.complete(body);
+            }
+        });
+        FutureUtil.propagateCancel(flight.shared, request);
+    }
+
+    /**
+     * 记录成功请求的网络耗时
+     */
+    private void recordNetwork(long start) {
+        latencyRecorder.get().record(LatencyStage.NETWORK, System.nanoTime() - start);
+    }
+
+    private static String key(String url, Map<String, Object> params) {
+        if (params == null || params.isEmpty()) {
+            return url;
+        }
+        return url + "#" + new TreeMap<>(params);
+    }
+
+    /**
+     * 一次进行中的请求及其调用方计数
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<String> shared = new CompletableFuture<>();
+        private int callers;
+        private boolean closed;
+
+        /**
+         * 加入请求，返回调用方自己的 Future
+         *
+         * @return 调用方的 Future，请求已被中止时返回 null
+         */
+        synchronized CompletableFuture<String> join() {
+            if (closed) {
+                return null;
+            }
+            callers++;
+
+            CompletableFuture<String> view = new CompletableFuture<>();
+            shared.whenComplete((body, throwable) -> {
+                if (throwable != null) {
+                    view.completeExceptionally(throwable);
+                } else {
+                    view.complete(body);
+                }
+            });
+            view.whenComplete((body, throwable) -> {
+                if (view.isCancelled()) {
+                    leave();
+                }
+            });
+            return view;
+        }
+
+        /**
+         * 调用方取消，最后一个调用方离开时中止底层请求
+         */
+        private void leave() {
+            synchronized (this) {
+                if (closed || --callers > 0 || shared.isDone()) {
+                    return;
+                }
+                closed = true;
+            }
+            shared.cancel(true);
+        }
+    }
+}
@@ -3,10 +3,10 @@ package com.nancheung.plugins.jetbrains.legadoreader.command;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.Service;
 import com.nancheung.plugins.jetbrains.legadoreader.command.handler.CommandHandler;
+import com.nancheung.plugins.jetbrains.legadoreader.service.CommandLatencyTracker;
+import com.nancheung.plugins.jetbrains.legadoreader.service.PluginExecutorService;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.CompletableFuture;
-
 /**
  * 指令总线（Application Service）
  * 接收指令并路由到对应的处理器
@@ -41,24 +41,37 @@ public final class CommandBus {
      * @param command 指令对象
      */
     public void dispatch(Command command) {
-        log.info("收到指令: type={}, id={}", command.type(), command.id());
-
-        registry.getHandler(command.type()).ifPresentOrElse(
-                handler -> executeHandler(command, handler),
-                () -> {
-                    log.error("未找到指令处理器: {}", command.type());
-                }
-        );
+        CommandLatencyTracker.getInstance().begin(command);
+        route(command);
     }
 
     /**
      * 异步分发指令
-     * 指令分发本身在后台线程执行
+     * 指令分发本身在插件后台线程执行，分发时间在调用线程记录（统计包含后台线程的排队时间）
      *
      * @param command 指令对象
      */
     public void dispatchAsync(Command command) {
-        CompletableFuture.runAsync(() -> dispatch(command));
+        CommandLatencyTracker.getInstance().begin(command);
+        PluginExecutorService.getInstance().runAsync(() -> route(command));
+    }
+
+    /**
+     * 把已记录分发时间的指令路由到处理器
+     */
+    private void route(Command command) {
+        log.info("收到指令: type={}, id={}", command.type(), command.id());
+        try {
+            registry.getHandler(command.type()).ifPresentOrElse(
+                    handler -> executeHandler(command, handler),
+                    () -> {
+                        log.error("未找到指令处理器: {}", command.type());
+                    }
+            );
+        } finally {
+            // 没有异步结果要等待的指令（被拒绝、失败或前置检查未通过）在此结束跟踪
+            CommandLatencyTracker.getInstance().endDispatch(command);
+        }
     }
 
     /**
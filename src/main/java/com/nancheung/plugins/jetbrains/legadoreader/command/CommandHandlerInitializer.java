@@ -3,8 +3,12 @@ package com.nancheung.plugins.jetbrains.legadoreader.command;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.startup.ProjectActivity;
+import com.nancheung.plugins.jetbrains.legadoreader.api.ApiUtil;
 import com.nancheung.plugins.jetbrains.legadoreader.command.handler.*;
 import com.nancheung.plugins.jetbrains.legadoreader.presentation.editorline.EditorLineReaderService;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterDiskCache;
+import com.nancheung.plugins.jetbrains.legadoreader.service.CommandLatencyTracker;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ProgressOutbox;
 import kotlin.Unit;
 import kotlin.coroutines.Continuation;
 import lombok.extern.slf4j.Slf4j;
@@ -54,6 +58,9 @@ public class CommandHandlerInitializer implements ProjectActivity {
 
         log.info("开始注册指令处理器...");
 
+        // 记录成功请求的网络和解析耗时
+        ApiUtil.setLatencyRecorder(CommandLatencyTracker.getInstance()::record);
+
         new EditorLineReaderService();
 
         // ========== 章节切换处理器 ==========
@@ -78,5 +85,11 @@ public class CommandHandlerInitializer implements ProjectActivity {
         // registry.register(new GetReadingInfoHandler());
 
         log.info("指令处理器注册完成，共 {} 个处理器", registry.size());
+
+        // 重新发送上次未同步成功的阅读进度
+        ProgressOutbox.getInstance().replayAsync();
+
+        // 在后台打开章节磁盘缓存（扫描段文件重建索引），避免第一次读取时等待
+        ChapterDiskCache.getInstance().openAsync();
     }
 }
@@ -6,7 +6,10 @@ import com.nancheung.plugins.jetbrains.legadoreader.command.payload.CommandPaylo
 import com.nancheung.plugins.jetbrains.legadoreader.event.EventPublisher;
 import com.nancheung.plugins.jetbrains.legadoreader.event.ReadingEvent;
 import com.nancheung.plugins.jetbrains.legadoreader.manager.ReadingSessionManager;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterLoadTracker;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterPrefetchService;
 import com.nancheung.plugins.jetbrains.legadoreader.service.PaginationManager;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ProgressSyncService;
 import com.nancheung.plugins.jetbrains.legadoreader.service.ReadingSessionStateMachine;
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,10 +36,15 @@ public class BackToBookshelfHandler implements CommandHandler<CommandPayload> {
 
         log.info("返回书架，结束阅读会话");
 
+        // 0. 取消进行中的章节加载和预加载，已离开的书籍不再占用连接
+        ChapterLoadTracker.getInstance().cancelAll();
+        ChapterPrefetchService.getInstance().cancelAll();
+
         // 1. 发布会话结束事件
         publisher.publish(ReadingEvent.sessionEnded(command.id()));
 
-        // 2. 清空阅读会话
+        // 2. 立即同步未发送的阅读进度，清空阅读会话
+        ProgressSyncService.getInstance().flushAll();
         sessionManager.clear();
 
         // 3. 清空分页数据
@@ -6,8 +6,10 @@ import com.nancheung.plugins.jetbrains.legadoreader.command.CommandType;
 import com.nancheung.plugins.jetbrains.legadoreader.command.payload.CommandPayload;
 import com.nancheung.plugins.jetbrains.legadoreader.event.EventPublisher;
 import com.nancheung.plugins.jetbrains.legadoreader.event.PaginationEvent;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterPrefetchService;
 import com.nancheung.plugins.jetbrains.legadoreader.service.IPaginationManager;
 import com.nancheung.plugins.jetbrains.legadoreader.service.PaginationManager;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ProgressSyncService;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -36,26 +38,51 @@ public class NextPageHandler implements CommandHandler<CommandPayload> {
             return;
         }
 
-        int totalPages = paginationManager.getTotalPages();
-        int currentPageIndex = currentPage.pageIndex();
-
-        if (currentPageIndex < totalPages - 1) {
+        if (!paginationManager.isLastPage()) {
             // 页内翻页
             IPaginationManager.PageData nextPage = paginationManager.nextPage();
 
             if (nextPage != null) {
+                // 总页数在翻页过程中逐渐精确，翻页后再读取
+                int totalPages = paginationManager.getTotalPages();
                 publisher.publish(PaginationEvent.pageChanged(
+                        command.id(),
+                        paginationManager.getCurrentChapterIndex(),
                         nextPage.pageIndex() + 1,
                         totalPages,
                         nextPage.content()
                 ));
                 log.debug("翻到下一页: {}/{}", nextPage.pageIndex() + 1, totalPages);
+
+                // 阅读进度超过预载进度因子时，后台预加载后续章节
+                ChapterPrefetchService.getInstance().onPageChanged(nextPage.pageIndex(), totalPages);
+
+                // 提交阅读进度（合并后延迟同步到服务器）
+                ProgressSyncService.getInstance().submitCurrent(nextPage.startPos());
             }
 
         } else {
-            // 最后一页，触发下一章
-            log.debug("已经是最后一页，切换到下一章");
-            CommandBus.getInstance().dispatch(Command.of(CommandType.NEXT_CHAPTER));
+            // 最后一页：下一章已缓存时直接翻到下一章第一页，章节切换和进度同步在后台进行
+            IPaginationManager.PageData crossed = paginationManager.crossToNextChapter();
+
+            if (crossed != null) {
+                publisher.publish(PaginationEvent.pageChanged(
+                        command.id(),
+                        paginationManager.getCurrentChapterIndex(),
+                        crossed.pageIndex() + 1,
+                        paginationManager.getTotalPages(),
+                        crossed.content()
+                ));
+                log.debug("已经是最后一页，跨章翻到下一章第一页");
+
+                // 会话仍停留在本章，按已翻到的章节提交进度
+                ProgressSyncService.getInstance().submitChapter(paginationManager.getCurrentChapterIndex(), crossed.startPos());
+                CommandBus.getInstance().dispatchAsync(Command.of(CommandType.NEXT_CHAPTER));
+            } else {
+                // 下一章尚未缓存，等待加载
+                log.debug("已经是最后一页，切换到下一章");
+                CommandBus.getInstance().dispatch(Command.of(CommandType.NEXT_CHAPTER));
+            }
         }
     }
 }
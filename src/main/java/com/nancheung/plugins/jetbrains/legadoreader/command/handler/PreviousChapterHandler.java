@@ -1,21 +1,28 @@
 package com.nancheung.plugins.jetbrains.legadoreader.command.handler;
 
-import com.nancheung.plugins.jetbrains.legadoreader.api.ApiUtil;
 import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookChapterDTO;
 import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookDTO;
 import com.nancheung.plugins.jetbrains.legadoreader.command.Command;
 import com.nancheung.plugins.jetbrains.legadoreader.command.CommandType;
 import com.nancheung.plugins.jetbrains.legadoreader.command.payload.CommandPayload;
+import com.nancheung.plugins.jetbrains.legadoreader.common.FutureUtil;
 import com.nancheung.plugins.jetbrains.legadoreader.event.EventPublisher;
 import com.nancheung.plugins.jetbrains.legadoreader.event.ReadingEvent;
 import com.nancheung.plugins.jetbrains.legadoreader.manager.ReadingSessionManager;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ChapterKey;
 import com.nancheung.plugins.jetbrains.legadoreader.model.ReadingSession;
 import com.nancheung.plugins.jetbrains.legadoreader.model.ReadingSessionState;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterContentLoader;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterDiskCache;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterLoadTracker;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterPrefetchService;
+import com.nancheung.plugins.jetbrains.legadoreader.service.CommandLatencyTracker;
+import com.nancheung.plugins.jetbrains.legadoreader.service.PaginationManager;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ProgressSyncService;
 import com.nancheung.plugins.jetbrains.legadoreader.service.ReadingSessionStateMachine;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -35,44 +42,50 @@ public class PreviousChapterHandler implements CommandHandler<CommandPayload> {
     public void handle(Command command) {
         ReadingSessionManager sessionManager = ReadingSessionManager.getInstance();
         ReadingSessionStateMachine stateMachine = ReadingSessionStateMachine.getInstance();
+        ChapterLoadTracker loadTracker = ChapterLoadTracker.getInstance();
         EventPublisher publisher = EventPublisher.getInstance();
 
         ReadingSession session = sessionManager.getSession();
 
-        // 1. 前置检查
+        // 1. 前置检查：是否有当前阅读会话
         if (session == null) {
             log.warn("没有当前阅读会话");
             return;
         }
 
-        int currentIndex = sessionManager.getCurrentChapterIndex();
+        // 2. 计算目标章节并登记加载（后来者优先）
+        //    已有进行中的加载时以其目标为基准，取消并取代该加载；当前章节在登记时（锁内）读取
+        BookDTO book = session.book();
+        int totalChapters = session.chapters().size();
 
-        if (currentIndex <= 0) {
-            log.warn("已经是第一章");
-            return;
-        }
+        ChapterLoadTracker.Ticket ticket = loadTracker.begin(command.id(), book.getBookUrl(),
+                sessionManager::getCurrentChapterIndex,
+                base -> base > 0 ? base - 1 : -1);
 
-        // 2. 检查当前状态，防止重复加载
-        if (stateMachine.isLoading()) {
-            log.warn("当前正在加载中，忽略切换章节请求");
+        if (ticket == null) {
+            log.warn("已经是第一章");
             return;
         }
 
-        // 3. 状态转换
-        if (!stateMachine.transition(ReadingSessionState.LOADING)) {
+        // 3. 状态转换：READING → LOADING（取代进行中的加载时已处于 LOADING）
+        if (!stateMachine.isLoading() && !stateMachine.transition(ReadingSessionState.LOADING)) {
+            loadTracker.finish(ticket);
             log.warn("当前状态不允许切换章节");
             return;
         }
 
         // 4. 准备数据
-        int prevIndex = currentIndex - 1;
-        BookDTO book = session.book();
+        int prevIndex = ticket.chapterIndex();
         BookChapterDTO tempChapter = new BookChapterDTO();
         tempChapter.setIndex(prevIndex);
 
-        log.info("开始切换到上一章: {} -> {}", currentIndex, prevIndex);
+        log.info("开始切换到上一章: {}", prevIndex);
+
+        // 取消目标章节之外的预加载
+        ChapterPrefetchService prefetchService = ChapterPrefetchService.getInstance();
+        prefetchService.retainWindow(book.getBookUrl(), prevIndex);
 
-        // 5. 发布加载开始事件
+        // 5. 发布"章节加载开始"事件
         publisher.publish(ReadingEvent.chapterLoading(
                 command.id(),
                 book,
@@ -80,63 +93,73 @@ public class PreviousChapterHandler implements CommandHandler<CommandPayload> {
                 ReadingEvent.Direction.PREVIOUS
         ));
 
-        // 6. 异步加载数据
-        CompletableFuture.runAsync(() -> {
-            try {
-                List<BookChapterDTO> chapters = sessionManager.getChapters();
-                BookChapterDTO chapter = chapters.get(prevIndex);
-                String content = ApiUtil.getBookContent(book.getBookUrl(), prevIndex);
-
-                // 更新会话
-                sessionManager.previousChapter();
-                sessionManager.setContent(content);
-
-                // 状态转换
-                stateMachine.transition(ReadingSessionState.READING);
-
-                // 发布成功事件
-                publisher.publish(ReadingEvent.chapterLoaded(
-                        command.id(),
-                        book,
-                        chapter,
-                        content,
-                        0,
-                        ReadingEvent.Direction.PREVIOUS
-                ));
-
-                log.info("切换到上一章成功：{}", chapter.getTitle());
-
-                // 异步同步进度
-                syncProgressAsync(book, prevIndex, chapter.getTitle(), 0);
-
-            } catch (Exception e) {
-                // 回滚状态
-                sessionManager.nextChapter();
-                stateMachine.transition(ReadingSessionState.READING);
-
-                publisher.publish(ReadingEvent.chapterLoadFailed(
-                        command.id(),
-                        book,
-                        tempChapter,
-                        e,
-                        ReadingEvent.Direction.PREVIOUS
-                ));
-
-                if (Boolean.TRUE.equals(PluginSettingsStorage.getInstance().getState().enableErrorLog)) {
-                    log.error("切换到上一章失败", e);
-                }
+        // 6. 异步加载数据（优先命中缓存，未命中时发起非阻塞请求），被取代时取消请求
+        CompletableFuture<String> loading = ChapterContentLoader.getInstance().load(book.getBookUrl(), prevIndex,
+                ChapterDiskCache.fingerprintOf(session.chapters().get(prevIndex)));
+        ticket.track(loading);
+        CommandLatencyTracker.getInstance().expectResult(command.id());
+
+        loading.whenComplete((content, throwable) -> {
+            // 6.1 已被新的导航取代或已取消，丢弃结果
+            if (!loadTracker.finish(ticket, throwable == null)) {
+                CommandLatencyTracker.getInstance().discard(command.id());
+                log.debug("丢弃被取代的章节加载: {}", prevIndex);
+                return;
             }
-        });
-    }
 
-    private void syncProgressAsync(BookDTO book, int chapterIndex, String chapterTitle, int position) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                ApiUtil.saveBookProgress(book.getAuthor(), book.getName(), chapterIndex, chapterTitle, position);
-                log.debug("同步阅读进度成功：{} - {}", book.getName(), chapterTitle);
-            } catch (Exception e) {
-                log.warn("同步阅读进度失败", e);
+            if (throwable != null) {
+                onFailure(command, book, tempChapter, FutureUtil.unwrap(throwable));
+                return;
             }
+
+            // 6.2 获取章节信息
+            BookChapterDTO chapter = session.chapters().get(prevIndex);
+
+            // 6.3 更新会话（直接定位到目标章节）
+            sessionManager.switchChapter(prevIndex, content);
+
+            // 6.4 状态转换：LOADING → READING
+            stateMachine.transition(ReadingSessionState.READING);
+
+            // 跨章翻页时已位于该章节的某一页（上一章为最后一页），以该页为阅读位置，否则从章节开头阅读
+            int position = PaginationManager.getInstance().getPositionIn(new ChapterKey(book.getBookUrl(), prevIndex));
+
+            // 6.5 发布"章节加载成功"事件
+            publisher.publish(ReadingEvent.chapterLoaded(
+                    command.id(),
+                    book,
+                    chapter,
+                    content,
+                    position,
+                    ReadingEvent.Direction.PREVIOUS
+            ));
+
+            log.info("切换到上一章成功：{}", chapter.getTitle());
+
+            // 6.6 预加载后续章节（按预载进度因子）
+            prefetchService.onChapterLoaded();
+
+            // 6.7 提交阅读进度（合并后延迟同步到服务器）
+            ProgressSyncService.getInstance().submit(book, prevIndex, chapter.getTitle(), position);
         });
     }
+
+    /**
+     * 加载失败处理：回到阅读状态并发布失败事件（会话未被修改，无需回滚）
+     */
+    private void onFailure(Command command, BookDTO book, BookChapterDTO tempChapter, Throwable e) {
+        ReadingSessionStateMachine.getInstance().transition(ReadingSessionState.READING);
+
+        EventPublisher.getInstance().publish(ReadingEvent.chapterLoadFailed(
+                command.id(),
+                book,
+                tempChapter,
+                e,
+                ReadingEvent.Direction.PREVIOUS
+        ));
+
+        if (Boolean.TRUE.equals(PluginSettingsStorage.getInstance().getState().enableErrorLog)) {
+            log.error("切换到上一章失败", e);
+        }
+    }
 }
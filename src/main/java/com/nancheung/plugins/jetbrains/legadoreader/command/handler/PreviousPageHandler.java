@@ -8,6 +8,7 @@ import com.nancheung.plugins.jetbrains.legadoreader.event.EventPublisher;
 import com.nancheung.plugins.jetbrains.legadoreader.event.PaginationEvent;
 import com.nancheung.plugins.jetbrains.legadoreader.service.IPaginationManager;
 import com.nancheung.plugins.jetbrains.legadoreader.service.PaginationManager;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ProgressSyncService;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -36,26 +37,47 @@ public class PreviousPageHandler implements CommandHandler<CommandPayload> {
             return;
         }
 
-        int totalPages = paginationManager.getTotalPages();
-        int currentPageIndex = currentPage.pageIndex();
-
-        if (currentPageIndex > 0) {
+        if (!paginationManager.isFirstPage()) {
             // 页内翻页
             IPaginationManager.PageData prevPage = paginationManager.previousPage();
 
             if (prevPage != null) {
+                int totalPages = paginationManager.getTotalPages();
                 publisher.publish(PaginationEvent.pageChanged(
+                        command.id(),
+                        paginationManager.getCurrentChapterIndex(),
                         prevPage.pageIndex() + 1,
                         totalPages,
                         prevPage.content()
                 ));
                 log.debug("翻到上一页: {}/{}", prevPage.pageIndex() + 1, totalPages);
+
+                // 提交阅读进度（合并后延迟同步到服务器）
+                ProgressSyncService.getInstance().submitCurrent(prevPage.startPos());
             }
 
         } else {
-            // 第一页，触发上一章
-            log.debug("已经是第一页，切换到上一章");
-            CommandBus.getInstance().dispatch(Command.of(CommandType.PREVIOUS_CHAPTER));
+            // 第一页：上一章已缓存时直接翻到上一章最后一页，章节切换和进度同步在后台进行
+            IPaginationManager.PageData crossed = paginationManager.crossToPreviousChapter();
+
+            if (crossed != null) {
+                publisher.publish(PaginationEvent.pageChanged(
+                        command.id(),
+                        paginationManager.getCurrentChapterIndex(),
+                        crossed.pageIndex() + 1,
+                        paginationManager.getTotalPages(),
+                        crossed.content()
+                ));
+                log.debug("已经是第一页，跨章翻到上一章最后一页");
+
+                // 会话仍停留在本章，按已翻到的章节提交进度
+                ProgressSyncService.getInstance().submitChapter(paginationManager.getCurrentChapterIndex(), crossed.startPos());
+                CommandBus.getInstance().dispatchAsync(Command.of(CommandType.PREVIOUS_CHAPTER));
+            } else {
+                // 上一章尚未缓存，等待加载
+                log.debug("已经是第一页，切换到上一章");
+                CommandBus.getInstance().dispatch(Command.of(CommandType.PREVIOUS_CHAPTER));
+            }
         }
     }
 }
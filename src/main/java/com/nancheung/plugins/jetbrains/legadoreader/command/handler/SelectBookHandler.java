@@ -6,11 +6,18 @@ import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookDTO;
 import com.nancheung.plugins.jetbrains.legadoreader.command.Command;
 import com.nancheung.plugins.jetbrains.legadoreader.command.CommandType;
 import com.nancheung.plugins.jetbrains.legadoreader.command.payload.SelectBookPayload;
+import com.nancheung.plugins.jetbrains.legadoreader.common.FutureUtil;
 import com.nancheung.plugins.jetbrains.legadoreader.event.EventPublisher;
 import com.nancheung.plugins.jetbrains.legadoreader.event.ReadingEvent;
 import com.nancheung.plugins.jetbrains.legadoreader.manager.ReadingSessionManager;
 import com.nancheung.plugins.jetbrains.legadoreader.model.ReadingSession;
 import com.nancheung.plugins.jetbrains.legadoreader.model.ReadingSessionState;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterContentLoader;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterDiskCache;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterLoadTracker;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterPrefetchService;
+import com.nancheung.plugins.jetbrains.legadoreader.service.CommandLatencyTracker;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ProgressSyncService;
 import com.nancheung.plugins.jetbrains.legadoreader.service.ReadingSessionStateMachine;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
 import lombok.extern.slf4j.Slf4j;
@@ -45,18 +52,21 @@ public class SelectBookHandler implements CommandHandler<SelectBookPayload> {
 
         log.info("加载章节: book={}, chapterIndex={}", book.getName(), chapterIndex);
 
-        // 2. 检查当前状态，防止重复加载
-        if (stateMachine.isLoading()) {
-            log.warn("当前正在加载中，忽略新的加载请求");
-            return;
-        }
+        // 2. 登记加载（后来者优先），取消并取代进行中的加载
+        ChapterLoadTracker loadTracker = ChapterLoadTracker.getInstance();
+        ChapterLoadTracker.Ticket ticket = loadTracker.begin(command.id(), book.getBookUrl(), chapterIndex);
 
-        // 3. 状态转换到加载中
-        if (!stateMachine.transition(ReadingSessionState.LOADING)) {
+        // 3. 状态转换到加载中（取代进行中的加载时已处于 LOADING）
+        if (!stateMachine.isLoading() && !stateMachine.transition(ReadingSessionState.LOADING)) {
+            loadTracker.finish(ticket);
             log.warn("当前状态不允许加载章节");
             return;
         }
 
+        // 取消与目标章节无关的预加载（如切换了书籍）
+        ChapterPrefetchService prefetchService = ChapterPrefetchService.getInstance();
+        prefetchService.retainWindow(book.getBookUrl(), chapterIndex);
+
         // 4. 创建临时章节对象，发布加载开始事件
         BookChapterDTO tempChapter = new BookChapterDTO();
         tempChapter.setIndex(chapterIndex);
@@ -67,75 +77,92 @@ public class SelectBookHandler implements CommandHandler<SelectBookPayload> {
                 ReadingEvent.Direction.JUMP
         ));
 
-        // 5. 异步获取章节列表和内容
-        CompletableFuture.runAsync(() -> {
-            try {
-                // 获取章节列表
-                List<BookChapterDTO> chapters = ApiUtil.getChapterList(book.getBookUrl());
-
-                // 边界检查
-                if (chapterIndex < 0 || chapterIndex >= chapters.size()) {
-                    throw new IllegalArgumentException("章节索引越界: " + chapterIndex);
-                }
-
-                BookChapterDTO chapter = chapters.get(chapterIndex);
-
-                // 获取章节内容
-                String content = ApiUtil.getBookContent(book.getBookUrl(), chapterIndex);
-
-                // 创建并设置会话
-                ReadingSession session = new ReadingSession(book, chapters, chapterIndex, content);
-                ReadingSessionManager.getInstance().setSession(session);
-
-                // 状态转换到阅读中
-                stateMachine.transition(ReadingSessionState.READING);
-
-                // 发布加载成功事件
-                int position = (chapterIndex == book.getDurChapterIndex()) ? book.getDurChapterPos() : 0;
-                publisher.publish(ReadingEvent.chapterLoaded(
-                        command.id(),
-                        book,
-                        chapter,
-                        content,
-                        position,
-                        ReadingEvent.Direction.JUMP
-                ));
-
-                log.info("章节加载成功: {}", chapter.getTitle());
-
-                // 异步同步进度
-                syncProgressAsync(book, chapterIndex, chapter.getTitle(), position);
-
-            } catch (Exception e) {
-                // 状态转换到错误
-                stateMachine.transition(ReadingSessionState.ERROR);
-
-                // 发布加载失败事件
-                BookChapterDTO failedChapter = new BookChapterDTO();
-                failedChapter.setIndex(chapterIndex);
-                publisher.publish(ReadingEvent.chapterLoadFailed(
-                        command.id(),
-                        book,
-                        failedChapter,
-                        e,
-                        ReadingEvent.Direction.JUMP
-                ));
-
-                if (Boolean.TRUE.equals(PluginSettingsStorage.getInstance().getState().enableErrorLog)) {
-                    log.error("章节加载失败", e);
-                }
-            }
+        // 5. 异步获取章节列表，再按目录中的章节指纹获取内容（正文优先命中缓存，等待网络期间不占用线程）
+        //    被取代时两个请求一并取消
+        CompletableFuture<List<BookChapterDTO>> chaptersFuture = ApiUtil.getChapterListAsync(book.getBookUrl());
+        CompletableFuture<String> contentFuture = FutureUtil.compose(chaptersFuture, chapters -> {
+            BookChapterDTO target = chapterIndex >= 0 && chapterIndex < chapters.size() ? chapters.get(chapterIndex) : null;
+            return ChapterContentLoader.getInstance().load(book.getBookUrl(), chapterIndex, ChapterDiskCache.fingerprintOf(target));
         });
-    }
+        CompletableFuture<Void> loading = CompletableFuture.allOf(chaptersFuture, contentFuture);
+        FutureUtil.propagateCancel(loading, chaptersFuture);
+        FutureUtil.propagateCancel(loading, contentFuture);
+        ticket.track(loading);
+        CommandLatencyTracker.getInstance().expectResult(command.id());
+
+        loading.whenComplete((ignored, throwable) -> {
+            // 已被新的加载取代或已取消，丢弃结果（成功加载的章节作为之后翻章的基准）
+            boolean loaded = throwable == null && chapterIndex >= 0 && chapterIndex < chaptersFuture.join().size();
+            if (!loadTracker.finish(ticket, loaded)) {
+                CommandLatencyTracker.getInstance().discard(command.id());
+                log.debug("丢弃被取代的章节加载: book={}, chapterIndex={}", book.getName(), chapterIndex);
+                return;
+            }
 
-    private void syncProgressAsync(BookDTO book, int chapterIndex, String chapterTitle, int position) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                ApiUtil.saveBookProgress(book.getAuthor(), book.getName(), chapterIndex, chapterTitle, position);
-                log.debug("同步阅读进度成功：{} - {}", book.getName(), chapterTitle);
-            } catch (Exception e) {
-                log.warn("同步阅读进度失败", e);
+            if (throwable != null) {
+                onFailure(command, book, chapterIndex, FutureUtil.unwrap(throwable));
+                return;
             }
+
+            List<BookChapterDTO> chapters = chaptersFuture.join();
+            String content = contentFuture.join();
+
+            // 边界检查
+            if (chapterIndex < 0 || chapterIndex >= chapters.size()) {
+                onFailure(command, book, chapterIndex, new IllegalArgumentException("章节索引越界: " + chapterIndex));
+                return;
+            }
+
+            BookChapterDTO chapter = chapters.get(chapterIndex);
+
+            // 创建并设置会话
+            ReadingSession session = new ReadingSession(book, chapters, chapterIndex, content);
+            ReadingSessionManager.getInstance().setSession(session);
+
+            // 状态转换到阅读中
+            stateMachine.transition(ReadingSessionState.READING);
+
+            // 发布加载成功事件
+            int position = (chapterIndex == book.getDurChapterIndex()) ? book.getDurChapterPos() : 0;
+            publisher.publish(ReadingEvent.chapterLoaded(
+                    command.id(),
+                    book,
+                    chapter,
+                    content,
+                    position,
+                    ReadingEvent.Direction.JUMP
+            ));
+
+            log.info("章节加载成功: {}", chapter.getTitle());
+
+            // 预加载后续章节（按预载进度因子）
+            prefetchService.onChapterLoaded();
+
+            // 提交阅读进度（合并后延迟同步到服务器）
+            ProgressSyncService.getInstance().submit(book, chapterIndex, chapter.getTitle(), position);
         });
     }
+
+    /**
+     * 加载失败处理：进入错误状态并发布失败事件
+     */
+    private void onFailure(Command command, BookDTO book, int chapterIndex, Throwable e) {
+        // 状态转换到错误
+        ReadingSessionStateMachine.getInstance().transition(ReadingSessionState.ERROR);
+
+        // 发布加载失败事件
+        BookChapterDTO failedChapter = new BookChapterDTO();
+        failedChapter.setIndex(chapterIndex);
+        EventPublisher.getInstance().publish(ReadingEvent.chapterLoadFailed(
+                command.id(),
+                book,
+                failedChapter,
+                e,
+                ReadingEvent.Direction.JUMP
+        ));
+
+        if (Boolean.TRUE.equals(PluginSettingsStorage.getInstance().getState().enableErrorLog)) {
+            log.error("章节加载失败", e);
+        }
+    }
 }
@@ -3,6 +3,8 @@ package com.nancheung.plugins.jetbrains.legadoreader.command.handler;
 import com.nancheung.plugins.jetbrains.legadoreader.command.Command;
 import com.nancheung.plugins.jetbrains.legadoreader.command.CommandType;
 import com.nancheung.plugins.jetbrains.legadoreader.command.payload.CommandPayload;
+import com.nancheung.plugins.jetbrains.legadoreader.event.EventPublisher;
+import com.nancheung.plugins.jetbrains.legadoreader.event.SettingsChangedEvent;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
 import lombok.extern.slf4j.Slf4j;
 
@@ -30,5 +32,8 @@ public class ToggleReadingModeHandler implements CommandHandler<CommandPayload>
         String message = newState ? "已开启行内阅读模式" : "已关闭行内阅读模式";
 
         log.info("切换阅读模式: {}", message);
+
+        // 通知订阅者刷新行内内容
+        EventPublisher.getInstance().publish(SettingsChangedEvent.displaySettings(newState));
     }
 }
@@ -0,0 +1,98 @@
+package com.nancheung.plugins.jetbrains.legadoreader.common;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * CompletableFuture 工具
+ *
+ * @author NanCheung
+ */
+@UtilityClass
+public class FutureUtil {
+
+    /**
+     * 剥离 CompletableFuture 包装的异常，得到真正的失败原因
+     *
+     * @param throwable 回调中收到的异常
+     * @return 原始异常
+     */
+    public Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * 派生 Future（同 thenApply），取消派生的 Future 时一并取消上游
+     * 用于需要把取消传递到底层网络请求的场景
+     *
+     * @param source 上游 Future
+     * @param fn     转换函数
+     * @return 派生的 Future
+     */
+    public <T, U> CompletableFuture<U> map(CompletableFuture<T> source, Function<? super T, ? extends U> fn) {
+        return propagateCancel(source.thenApply(fn), source);
+    }
+
+    /**
+     * 派生 Future（同 thenCompose），取消派生的 Future 时一并取消上游和 fn 返回的 Future
+     *
+     * @param source 上游 Future
+     * @param fn     根据上游结果发起下一步的函数
+     * @return 派生的 Future
+     */
+    public <T, U> CompletableFuture<U> compose(CompletableFuture<T> source,
+                                               Function<? super T, ? extends CompletableFuture<U>> fn) {
+        CompletableFuture<U> result = propagateCancel(new CompletableFuture<>(), source);
+        source.whenComplete((value, throwable) -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+                return;
+            }
+
+            CompletableFuture<U> next;
+            try {
+                next = fn.apply(value);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            propagateCancel(result, next);
+            next.whenComplete((nextValue, nextThrowable) -> {
+                if (nextThrowable == null) {
+                    result.complete(nextValue);
+                } else {
+                    result.completeExceptionally(nextThrowable);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * 取消 dependent 时一并取消 source
+     *
+     * @param dependent 派生的 Future
+     * @param source    上游 Future
+     * @return dependent 本身
+     */
+    public <T> CompletableFuture<T> propagateCancel(CompletableFuture<T> dependent, CompletableFuture<?> source) {
+        dependent.whenComplete((result, throwable) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+}
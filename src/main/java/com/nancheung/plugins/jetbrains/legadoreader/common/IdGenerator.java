@@ -0,0 +1,51 @@
+package com.nancheung.plugins.jetbrains.legadoreader.common;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 事件和指令 ID 生成器
+ * 生成紧凑、在本次运行内唯一的 ID（如 "k3x9q2-21a"），格式为「会话前缀-序号」
+ * <p>
+ * 序号以 36 进制表示，并在前面加一位 36 进制的位数（"z" 编码为 "1z"，"10" 编码为 "210"），
+ * 因此同一次运行内的 ID 按字符串比较的顺序就是生成顺序
+ * <p>
+ * 会话前缀在插件加载时生成一次，用于区分不同运行产生的 ID（如日志中），
+ * 之后每次生成只需一次原子自增，不像 UUID.randomUUID() 那样经过 SecureRandom
+ *
+ * @author NanCheung
+ */
+@UtilityClass
+public class IdGenerator {
+
+    /**
+     * 会话前缀（启动时间 + 随机数）
+     */
+    private final String SESSION_PREFIX = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(Character.MAX_RADIX * Character.MAX_RADIX), Character.MAX_RADIX)
+            + "-";
+
+    private final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * 生成下一个 ID
+     *
+     * @return 本次运行内唯一的 ID
+     */
+    public String nextId() {
+        return SESSION_PREFIX + encodeSequence(SEQUENCE.incrementAndGet());
+    }
+
+    /**
+     * 编码序号：位数（一位 36 进制）+ 36 进制序号，位数少的排在前面
+     *
+     * @param sequence 序号（非负）
+     * @return 编码后的序号
+     */
+    String encodeSequence(long sequence) {
+        String digits = Long.toString(sequence, Character.MAX_RADIX);
+        return Character.forDigit(digits.length(), Character.MAX_RADIX) + digits;
+    }
+}
@@ -0,0 +1,44 @@
+package com.nancheung.plugins.jetbrains.legadoreader.common;
+
+/**
+ * 延迟阶段
+ * 由 API 层（网络、解析）和服务层（分页、指令处理、EDT）记录，{@code CommandLatencyTracker} 按阶段汇总
+ *
+ * @author NanCheung
+ */
+public enum LatencyStage {
+    /**
+     * 网络请求（发出请求到收到响应）
+     */
+    NETWORK("网络请求"),
+
+    /**
+     * 响应解析（JSON 反序列化）
+     */
+    PARSING("响应解析"),
+
+    /**
+     * 分页（分页并定位到当前页）
+     */
+    PAGINATION("分页"),
+
+    /**
+     * 指令处理（指令分发到结果事件发布）
+     */
+    DISPATCH("指令处理"),
+
+    /**
+     * EDT（事件发布到 UI 处理完成，包括排队时间）
+     */
+    EDT("EDT");
+
+    private final String description;
+
+    LatencyStage(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
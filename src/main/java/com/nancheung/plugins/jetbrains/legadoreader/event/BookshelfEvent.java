@@ -1,10 +1,10 @@
 package com.nancheung.plugins.jetbrains.legadoreader.event;
 
 import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.common.IdGenerator;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
-import java.util.UUID;
 
 /**
  * 书架相关事件
@@ -51,7 +51,7 @@ public record BookshelfEvent(
      */
     public static BookshelfEvent loading(@Nullable String commandId) {
         return new BookshelfEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 commandId,
                 BookshelfEventType.LOADING,
@@ -65,7 +65,7 @@ public record BookshelfEvent(
      */
     public static BookshelfEvent loaded(@Nullable String commandId, List<BookDTO> books) {
         return new BookshelfEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 commandId,
                 BookshelfEventType.LOADED,
@@ -79,7 +79,7 @@ public record BookshelfEvent(
      */
     public static BookshelfEvent loadFailed(@Nullable String commandId, Throwable error) {
         return new BookshelfEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 commandId,
                 BookshelfEventType.LOAD_FAILED,
@@ -2,10 +2,11 @@ package com.nancheung.plugins.jetbrains.legadoreader.event;
 
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.Service;
+import com.intellij.util.messages.MessageBus;
+import com.nancheung.plugins.jetbrains.legadoreader.service.CommandLatencyTracker;
+import com.nancheung.plugins.jetbrains.legadoreader.service.PluginExecutorService;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.CompletableFuture;
-
 /**
  * 事件发布器（Application Service）
  * 负责将事件发布到 MessageBus
@@ -25,26 +26,27 @@ public final class EventPublisher {
 
     /**
      * 发布事件（同步）
-     * 事件会立即广播给所有订阅者
+     * 事件会立即发送给订阅了该事件类型（或所有事件）的订阅者
      *
      * @param event 事件对象
      */
     public void publish(ReaderEvent event) {
-        ApplicationManager.getApplication()
-                .getMessageBus()
-                .syncPublisher(ReaderEventListener.TOPIC)
-                .onEvent(event);
+        CommandLatencyTracker.getInstance().onPublished(event);
+
+        MessageBus messageBus = ApplicationManager.getApplication().getMessageBus();
+        messageBus.syncPublisher(ReaderEventListener.topicOf(event.getClass())).onEvent(event);
+        messageBus.syncPublisher(ReaderEventListener.TOPIC).onEvent(event);
 
         log.debug("事件已发布: type={}, eventId={}", event.getClass().getSimpleName(), event.eventId());
     }
 
     /**
      * 异步发布事件
-     * 事件将在后台线程中发布
+     * 事件将在插件后台线程中发布
      *
      * @param event 事件对象
      */
     public void publishAsync(ReaderEvent event) {
-        CompletableFuture.runAsync(() -> publish(event));
+        PluginExecutorService.getInstance().runAsync(() -> publish(event));
     }
 }
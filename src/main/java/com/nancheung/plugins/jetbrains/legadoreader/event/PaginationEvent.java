@@ -1,9 +1,8 @@
 package com.nancheung.plugins.jetbrains.legadoreader.event;
 
+import com.nancheung.plugins.jetbrains.legadoreader.common.IdGenerator;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.UUID;
-
 /**
  * 分页事件
  * UI 层根据此事件更新当前页显示
@@ -12,6 +11,7 @@ import java.util.UUID;
  * @param timestamp   事件时间戳
  * @param commandId   关联的指令 ID
  * @param type        分页事件类型
+ * @param chapterIndex 分页所属的章节索引（未知时为 -1），跨章翻页时 UI 据此判断是否仍在显示该章节
  * @param currentPage 当前页码（从 1 开始）
  * @param totalPages  总页数
  * @param pageContent 当前页内容（可选）
@@ -22,9 +22,10 @@ public record PaginationEvent(
         long timestamp,
         @Nullable String commandId,
         PaginationEventType type,
+        int chapterIndex,
         int currentPage,
         int totalPages,
-        @Nullable String pageContent
+        @Nullable CharSequence pageContent
 ) implements ReaderEvent {
 
     /**
@@ -45,12 +46,13 @@ public record PaginationEvent(
     /**
      * 创建"分页完成"事件
      */
-    public static PaginationEvent paginated(@Nullable String commandId, int totalPages, int currentPage, String content) {
+    public static PaginationEvent paginated(@Nullable String commandId, int chapterIndex, int totalPages, int currentPage, CharSequence content) {
         return new PaginationEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 commandId,
                 PaginationEventType.PAGINATED,
+                chapterIndex,
                 currentPage,
                 totalPages,
                 content
@@ -60,12 +62,13 @@ public record PaginationEvent(
     /**
      * 创建"页码变更"事件
      */
-    public static PaginationEvent pageChanged(int currentPage, int totalPages, String content) {
+    public static PaginationEvent pageChanged(@Nullable String commandId, int chapterIndex, int currentPage, int totalPages, CharSequence content) {
         return new PaginationEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
-                null,
+                commandId,
                 PaginationEventType.PAGE_CHANGED,
+                chapterIndex,
                 currentPage,
                 totalPages,
                 content
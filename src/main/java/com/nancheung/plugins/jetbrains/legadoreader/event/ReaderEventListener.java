@@ -5,19 +5,70 @@ import com.intellij.util.messages.Topic;
 /**
  * 阅读器事件监听器
  * 使用 IntelliJ MessageBus 实现事件发布/订阅
+ * 每种事件类型有独立的主题，订阅者只订阅关心的事件类型，不会收到无关的事件
  *
  * @author NanCheung
  */
 public interface ReaderEventListener {
 
     /**
-     * Application 级别的事件主题
+     * Application 级别的事件主题（所有类型的事件）
      * 事件在所有 IDE 窗口间共享
      */
     @Topic.AppLevel
     Topic<ReaderEventListener> TOPIC =
             Topic.create("LegadoReader.Event", ReaderEventListener.class);
 
+    /**
+     * 书架事件主题
+     */
+    @Topic.AppLevel
+    Topic<ReaderEventListener> BOOKSHELF_TOPIC =
+            Topic.create("LegadoReader.Event.Bookshelf", ReaderEventListener.class);
+
+    /**
+     * 阅读事件主题
+     */
+    @Topic.AppLevel
+    Topic<ReaderEventListener> READING_TOPIC =
+            Topic.create("LegadoReader.Event.Reading", ReaderEventListener.class);
+
+    /**
+     * 分页事件主题
+     */
+    @Topic.AppLevel
+    Topic<ReaderEventListener> PAGINATION_TOPIC =
+            Topic.create("LegadoReader.Event.Pagination", ReaderEventListener.class);
+
+    /**
+     * 设置变更事件主题
+     */
+    @Topic.AppLevel
+    Topic<ReaderEventListener> SETTINGS_TOPIC =
+            Topic.create("LegadoReader.Event.Settings", ReaderEventListener.class);
+
+    /**
+     * 获取事件类型对应的主题
+     *
+     * @param eventType 事件类型
+     * @return 该类型事件的主题
+     */
+    static Topic<ReaderEventListener> topicOf(Class<? extends ReaderEvent> eventType) {
+        if (eventType == BookshelfEvent.class) {
+            return BOOKSHELF_TOPIC;
+        }
+        if (eventType == ReadingEvent.class) {
+            return READING_TOPIC;
+        }
+        if (eventType == PaginationEvent.class) {
+            return PAGINATION_TOPIC;
+        }
+        if (eventType == SettingsChangedEvent.class) {
+            return SETTINGS_TOPIC;
+        }
+        throw new IllegalArgumentException("未知的事件类型: " + eventType.getName());
+    }
+
     /**
      * 处理事件
      *
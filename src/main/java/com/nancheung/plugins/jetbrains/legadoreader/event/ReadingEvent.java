@@ -2,10 +2,9 @@ package com.nancheung.plugins.jetbrains.legadoreader.event;
 
 import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookChapterDTO;
 import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.common.IdGenerator;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.UUID;
-
 /**
  * 阅读内容事件（不可变）
  * 章节加载相关事件
@@ -85,7 +84,7 @@ public record ReadingEvent(
      */
     public static ReadingEvent chapterLoading(@Nullable String commandId, BookDTO book, BookChapterDTO chapter, Direction direction) {
         return new ReadingEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 commandId,
                 ReadingEventType.CHAPTER_LOADING,
@@ -109,7 +108,7 @@ public record ReadingEvent(
             int chapterPosition,
             Direction direction) {
         return new ReadingEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 commandId,
                 ReadingEventType.CHAPTER_LOADED,
@@ -132,7 +131,7 @@ public record ReadingEvent(
             Throwable error,
             Direction direction) {
         return new ReadingEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 commandId,
                 ReadingEventType.CHAPTER_LOAD_FAILED,
@@ -150,7 +149,7 @@ public record ReadingEvent(
      */
     public static ReadingEvent sessionEnded(@Nullable String commandId) {
         return new ReadingEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 commandId,
                 ReadingEventType.SESSION_ENDED,
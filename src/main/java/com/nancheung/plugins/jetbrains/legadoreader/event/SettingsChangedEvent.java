@@ -1,10 +1,10 @@
 package com.nancheung.plugins.jetbrains.legadoreader.event;
 
 import com.intellij.ui.JBColor;
+import com.nancheung.plugins.jetbrains.legadoreader.common.IdGenerator;
 import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
-import java.util.UUID;
 
 /**
  * 设置变更事件（不可变）
@@ -56,7 +56,7 @@ public record SettingsChangedEvent(
      */
     public static SettingsChangedEvent fontSettings(JBColor fontColor, Font font, double lineHeight) {
         return new SettingsChangedEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 null,
                 SettingsChangedType.FONT_SETTINGS,
@@ -72,7 +72,7 @@ public record SettingsChangedEvent(
      */
     public static SettingsChangedEvent displaySettings(boolean enableShowBodyInLine) {
         return new SettingsChangedEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 null,
                 SettingsChangedType.DISPLAY_SETTINGS,
@@ -92,7 +92,7 @@ public record SettingsChangedEvent(
             double lineHeight,
             boolean enableShowBodyInLine) {
         return new SettingsChangedEvent(
-                UUID.randomUUID().toString(),
+                IdGenerator.nextId(),
                 System.currentTimeMillis(),
                 null,
                 SettingsChangedType.ALL_SETTINGS,
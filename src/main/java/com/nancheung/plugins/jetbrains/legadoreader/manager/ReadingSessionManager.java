@@ -77,6 +77,18 @@ public final class ReadingSessionManager {
         );
     }
 
+    /**
+     * 切换到指定章节并设置内容（一次原子更新）
+     *
+     * @param index   章节索引
+     * @param content 章节内容
+     */
+    public void switchChapter(int index, String content) {
+        currentSession.updateAndGet(session ->
+                session != null ? session.withChapter(index, content) : null
+        );
+    }
+
     /**
      * 更新章节内容
      *
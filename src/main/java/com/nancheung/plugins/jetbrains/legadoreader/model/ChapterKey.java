@@ -0,0 +1,15 @@
+package com.nancheung.plugins.jetbrains.legadoreader.model;
+
+/**
+ * 章节标识（不可变）
+ * 用作章节内容缓存、预加载等的键
+ *
+ * @param bookUrl      书籍 URL
+ * @param chapterIndex 章节索引
+ * @author NanCheung
+ */
+public record ChapterKey(
+        String bookUrl,
+        int chapterIndex
+) {
+}
@@ -48,6 +48,17 @@ public record ReadingSession(
         return new ReadingSession(book, chapters, newIndex, null);
     }
 
+    /**
+     * 切换到指定章节并设置内容
+     *
+     * @param newIndex 新的章节索引
+     * @param content  章节内容
+     * @return 新的会话对象
+     */
+    public ReadingSession withChapter(int newIndex, String content) {
+        return new ReadingSession(book, chapters, newIndex, content);
+    }
+
     /**
      * 更新章节内容
      *
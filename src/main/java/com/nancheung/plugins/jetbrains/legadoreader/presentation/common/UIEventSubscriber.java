@@ -1,15 +1,25 @@
 package com.nancheung.plugins.jetbrains.legadoreader.presentation.common;
 
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.util.messages.MessageBusConnection;
 import com.nancheung.plugins.jetbrains.legadoreader.event.*;
+import com.nancheung.plugins.jetbrains.legadoreader.service.CommandLatencyTracker;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * UI 事件订阅器基类
  * 提供事件分发和 EDT 线程保证
  * 所有 UI 组件都应该继承此类并订阅事件
- * 必须在子类构造函数中调用 super() 来激活订阅
- * 需要消费什么事件就重写对应的方法
+ * 必须在子类构造函数中调用 super(parent, ...) 来激活订阅，订阅随 parent 一起释放
+ * 需要消费什么事件就重写对应的方法，并在 super(...) 中声明这些事件类型
  *
  * @author NanCheung
  */
@@ -17,36 +27,160 @@ import lombok.extern.slf4j.Slf4j;
 public abstract class UIEventSubscriber implements ReaderEventListener {
 
     /**
-     * 构造函数中自动订阅事件
-     * 子类需要调用 super() 来激活订阅
+     * 待处理的可合并事件（按事件类型），访问需持有自身的锁
+     */
+    private final Map<Object, PendingEvent> pending = new HashMap<>();
+
+    /**
+     * 存活（尚未释放）的订阅器数量
+     */
+    private static final AtomicInteger LIVE_SUBSCRIBERS = new AtomicInteger();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * 是否已随父 Disposable 释放（已排队的事件不再处理）
+     */
+    private volatile boolean disposed;
+
+    /**
+     * 构造函数中自动订阅所有类型的事件
+     * 子类需要调用 super(parent) 来激活订阅
+     *
+     * @param parent 订阅的生命周期，释放时自动取消订阅
+     */
+    protected UIEventSubscriber(Disposable parent) {
+        this(parent, BookshelfEvent.class, ReadingEvent.class, PaginationEvent.class, SettingsChangedEvent.class);
+    }
+
+    /**
+     * 构造函数中自动订阅指定类型的事件
+     * 只会收到这些类型的事件，其他事件不会占用 EDT
+     *
+     * @param parent     订阅的生命周期（如工具窗口、项目），释放时自动取消订阅
+     * @param eventTypes 关心的事件类型
      */
-    protected UIEventSubscriber() {
-        ApplicationManager.getApplication()
+    @SafeVarargs
+    protected UIEventSubscriber(Disposable parent, Class<? extends ReaderEvent>... eventTypes) {
+        MessageBusConnection connection = ApplicationManager.getApplication()
                 .getMessageBus()
-                .connect()
-                .subscribe(ReaderEventListener.TOPIC, this);
+                .connect(parent);
+        for (Class<? extends ReaderEvent> eventType : eventTypes) {
+            connection.subscribe(ReaderEventListener.topicOf(eventType), this);
+        }
+
+        int live = LIVE_SUBSCRIBERS.incrementAndGet();
+        Disposer.register(parent, () -> {
+            disposed = true;
+            int remaining = LIVE_SUBSCRIBERS.decrementAndGet();
+            log.debug("UI 订阅器已释放: {}，存活订阅器: {}", this.getClass().getSimpleName(), remaining);
+        });
 
-        log.debug("UI 订阅器已注册: {}", this.getClass().getSimpleName());
+        log.debug("UI 订阅器已注册: {}，事件类型: {}，存活订阅器: {}", this.getClass().getSimpleName(), eventTypes.length, live);
+    }
+
+    /**
+     * 获取存活（尚未释放）的订阅器数量
+     * 用于诊断订阅泄漏：正常情况下等于打开的工具窗口数 + 1（行内阅读服务）
+     *
+     * @return 存活的订阅器数量
+     */
+    public static int getLiveSubscriberCount() {
+        return LIVE_SUBSCRIBERS.get();
     }
 
     /**
      * 处理事件（final，不可重写）
      * 确保所有事件处理都在 EDT 线程中执行
+     * <p>
+     * 分页事件和设置变更事件会合并：同一类型的事件在 EDT 处理之前只保留最新的一个，
+     * 连续翻页（如按住翻页键）时不会堆积大量 EDT 任务；阅读事件等生命周期事件严格按顺序逐个处理，
+     * 且之后的事件不会被合并到之前的事件中（不会越过生命周期事件提前处理）
      *
      * @param event 事件对象
      */
     @Override
     public final void onEvent(ReaderEvent event) {
-        // 确保在 EDT 线程中执行 UI 更新
-        ApplicationManager.getApplication().invokeLater(() -> {
-            try {
-                dispatchEvent(event);
-            } catch (Exception e) {
-                log.error("UI 事件处理失败: {}", event.getClass().getSimpleName(), e);
+        received.incrementAndGet();
+
+        Object kind = coalescingKind(event);
+        if (kind == null) {
+            // 生命周期事件：之后的事件重新排队，保证不会先于该事件处理
+            synchronized (pending) {
+                pending.clear();
+            }
+            long postedNanos = System.nanoTime();
+            post(() -> deliver(event, postedNanos));
+            return;
+        }
+
+        PendingEvent slot;
+        synchronized (pending) {
+            slot = pending.get(kind);
+            if (slot != null) {
+                // 已有待处理的同类事件，替换为最新的事件即可（被替换事件的指令不再等待结果）
+                ReaderEvent replaced = slot.event;
+                slot.event = event;
+                coalesced.incrementAndGet();
+                if (!Objects.equals(replaced.commandId(), event.commandId())) {
+                    CommandLatencyTracker.getInstance().discard(replaced.commandId());
+                }
+                return;
+            }
+            slot = new PendingEvent(event, System.nanoTime());
+            pending.put(kind, slot);
+        }
+
+        PendingEvent scheduled = slot;
+        post(() -> {
+            ReaderEvent latest;
+            synchronized (pending) {
+                latest = scheduled.event;
+                pending.remove(kind, scheduled);
             }
+            deliver(latest, scheduled.postedNanos);
         });
     }
 
+    /**
+     * 获取事件分发统计
+     *
+     * @return 统计信息快照
+     */
+    public DispatchStats getDispatchStats() {
+        return new DispatchStats(received.get(), dispatched.get(), coalesced.get());
+    }
+
+    /**
+     * 可合并事件的类型，不可合并时返回 null
+     */
+    private static Object coalescingKind(ReaderEvent event) {
+        return switch (event) {
+            case PaginationEvent e -> e.type();
+            case SettingsChangedEvent e -> e.type();
+            default -> null;
+        };
+    }
+
+    private void post(Runnable task) {
+        ApplicationManager.getApplication().invokeLater(task);
+    }
+
+    private void deliver(ReaderEvent event, long postedNanos) {
+        if (disposed) {
+            return;
+        }
+        dispatched.incrementAndGet();
+        try {
+            dispatchEvent(event);
+        } catch (Exception e) {
+            log.error("UI 事件处理失败: {}", event.getClass().getSimpleName(), e);
+        }
+        CommandLatencyTracker.getInstance().onApplied(event, postedNanos);
+    }
+
     /**
      * 分发事件到具体处理方法
      *
@@ -100,4 +234,36 @@ public abstract class UIEventSubscriber implements ReaderEventListener {
     protected void onSettingsChangedEvent(SettingsChangedEvent event) {
         // 子类可选择性重写
     }
+
+    /**
+     * 待处理的可合并事件
+     */
+    private static final class PendingEvent {
+
+        private ReaderEvent event;
+
+        /**
+         * 第一个事件提交到 EDT 的时间
+         */
+        private final long postedNanos;
+
+        PendingEvent(ReaderEvent event, long postedNanos) {
+            this.event = event;
+            this.postedNanos = postedNanos;
+        }
+    }
+
+    /**
+     * 事件分发统计（不可变）
+     *
+     * @param received   收到的事件数
+     * @param dispatched 实际处理的事件数
+     * @param coalesced  被合并（未单独处理）的事件数
+     */
+    public record DispatchStats(
+            long received,
+            long dispatched,
+            long coalesced
+    ) {
+    }
 }
@@ -0,0 +1,158 @@
+package com.nancheung.plugins.jetbrains.legadoreader.presentation.editorline;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.CaretEvent;
+import com.intellij.openapi.editor.event.CaretListener;
+import com.intellij.openapi.editor.event.EditorFactoryEvent;
+import com.intellij.openapi.editor.event.EditorFactoryListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.FileEditorManagerEvent;
+import com.intellij.openapi.fileEditor.FileEditorManagerListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 编辑器光标跟踪器（Project Service）
+ * 监听编辑器切换和光标移动，维护当前项目中正在使用的编辑器及其光标行，
+ * ReaderEditorLinePainter 每次绘制只需读取一次 {@link #getActiveLine()}
+ * <p>
+ * 所有监听器在 EDT 中回调，随项目一起释放
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service(Service.Level.PROJECT)
+public final class EditorCaretTracker implements Disposable {
+
+    private final Project project;
+
+    /**
+     * 当前编辑器及其光标行（不可变快照，整体替换），没有打开的文本编辑器时为 null
+     */
+    private volatile ActiveLine activeLine;
+
+    public EditorCaretTracker(Project project) {
+        this.project = project;
+
+        // 切换编辑器标签页
+        project.getMessageBus().connect(this).subscribe(FileEditorManagerListener.FILE_EDITOR_MANAGER,
+                new FileEditorManagerListener() {
+                    @Override
+                    public void selectionChanged(@NotNull FileEditorManagerEvent event) {
+                        refresh();
+                    }
+                });
+
+        // 光标移动（包括在分屏中的另一个编辑器里移动光标）
+        EditorFactory.getInstance().getEventMulticaster().addCaretListener(new CaretListener() {
+            @Override
+            public void caretPositionChanged(@NotNull CaretEvent event) {
+                Editor editor = event.getEditor();
+                if (editor.getProject() == project) {
+                    update(editor);
+                }
+            }
+        }, this);
+
+        // 编辑器关闭时不再持有它
+        EditorFactory.getInstance().addEditorFactoryListener(new EditorFactoryListener() {
+            @Override
+            public void editorReleased(@NotNull EditorFactoryEvent event) {
+                ActiveLine current = activeLine;
+                if (current != null && current.editor() == event.getEditor()) {
+                    activeLine = null;
+                    ApplicationManager.getApplication().invokeLater(EditorCaretTracker.this::refresh, project.getDisposed());
+                }
+            }
+        }, this);
+
+        // 以当前选中的编辑器作为初始状态
+        if (ApplicationManager.getApplication().isDispatchThread()) {
+            refresh();
+        } else {
+            ApplicationManager.getApplication().invokeLater(this::refresh, project.getDisposed());
+        }
+    }
+
+    /**
+     * 获取项目的光标跟踪器
+     */
+    public static EditorCaretTracker getInstance(Project project) {
+        return project.getService(EditorCaretTracker.class);
+    }
+
+    /**
+     * 获取当前编辑器及其光标行
+     *
+     * @return 当前编辑器及其光标行，没有打开的文本编辑器时返回 null
+     */
+    @Nullable
+    public ActiveLine getActiveLine() {
+        return activeLine;
+    }
+
+    /**
+     * 以当前选中的文本编辑器重新确定光标行
+     */
+    private void refresh() {
+        if (project.isDisposed()) {
+            return;
+        }
+        Editor editor = FileEditorManager.getInstance(project).getSelectedTextEditor();
+        if (editor == null || editor.isDisposed()) {
+            activeLine = null;
+            return;
+        }
+        update(editor);
+    }
+
+    private void update(Editor editor) {
+        int line = editor.getCaretModel().getLogicalPosition().line;
+        ActiveLine current = activeLine;
+        if (current != null && current.editor() == editor && current.line() == line) {
+            return;
+        }
+
+        // 忽略控制台等不对应文件的编辑器
+        VirtualFile file = FileDocumentManager.getInstance().getFile(editor.getDocument());
+        if (file == null) {
+            return;
+        }
+
+        activeLine = new ActiveLine(editor, file, line);
+        log.debug("光标行变更: {}:{}", file.getName(), line);
+    }
+
+    @Override
+    public void dispose() {
+        activeLine = null;
+    }
+
+    /**
+     * 当前编辑器及其光标行（不可变）
+     *
+     * @param editor 编辑器
+     * @param file   编辑器打开的文件
+     * @param line   光标所在的逻辑行
+     */
+    public record ActiveLine(
+            Editor editor,
+            VirtualFile file,
+            int line
+    ) {
+        /**
+         * 判断是否为该文件的光标行
+         */
+        public boolean matches(VirtualFile otherFile, int lineNumber) {
+            return line == lineNumber && file.equals(otherFile);
+        }
+    }
+}
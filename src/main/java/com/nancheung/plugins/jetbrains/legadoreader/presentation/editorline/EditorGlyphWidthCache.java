@@ -0,0 +1,160 @@
+package com.nancheung.plugins.jetbrains.legadoreader.presentation.editorline;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.colors.EditorColorsListener;
+import com.intellij.openapi.editor.colors.EditorColorsManager;
+import com.intellij.openapi.editor.colors.EditorFontType;
+import com.intellij.openapi.editor.colors.FontPreferences;
+import com.intellij.openapi.editor.impl.ComplementaryFontsRegistry;
+import com.intellij.openapi.editor.impl.FontInfo;
+import com.nancheung.plugins.jetbrains.legadoreader.service.GlyphWidths;
+import lombok.extern.slf4j.Slf4j;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 编辑器字形宽度缓存（Application Service）
+ * 按 字体 + FontRenderContext 缓存字形宽度表，宽度与编辑器实际绘制时一致：
+ * 每个字符先经 ComplementaryFontsRegistry 选出能显示它的字体（主字体不支持时使用回退字体），再由 FontInfo 测量
+ * <p>
+ * 最多保留 {@link #MAX_ENTRIES} 个宽度表，超出时淘汰最久未使用的；编辑器配色方案（含字体设置）变更时清空
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class EditorGlyphWidthCache implements Disposable {
+
+    /**
+     * 缓存的宽度表数量上限（缩放、切换显示器等会产生新的渲染上下文）
+     */
+    private static final int MAX_ENTRIES = 4;
+
+    /**
+     * 宽度表（按访问顺序排列），访问需持有自身的锁
+     */
+    private final LinkedHashMap<WidthKey, EditorGlyphWidths> entries = new LinkedHashMap<>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<WidthKey, EditorGlyphWidths> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public EditorGlyphWidthCache() {
+        ApplicationManager.getApplication().getMessageBus().connect(this)
+                .subscribe(EditorColorsManager.TOPIC, (EditorColorsListener) scheme -> clear());
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static EditorGlyphWidthCache getInstance() {
+        return ApplicationManager.getApplication().getService(EditorGlyphWidthCache.class);
+    }
+
+    /**
+     * 获取编辑器中某种字体样式的字形宽度表
+     * 在 EDT 中调用（需要访问编辑器），返回的宽度表可以在任意线程中使用
+     *
+     * @param editor   编辑器
+     * @param fontType 字体样式
+     * @return 字形宽度表
+     */
+    public GlyphWidths widthsFor(Editor editor, EditorFontType fontType) {
+        Font font = editor.getColorsScheme().getFont(fontType);
+        FontRenderContext context = FontInfo.getFontRenderContext(editor.getContentComponent());
+        FontPreferences preferences = editor.getColorsScheme().getFontPreferences();
+
+        WidthKey key = new WidthKey(font, context);
+        synchronized (entries) {
+            return entries.computeIfAbsent(key, k -> new EditorGlyphWidths(k, font.getStyle(), preferences));
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        log.debug("字形宽度缓存已清空");
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+    }
+
+    /**
+     * 缓存键
+     *
+     * @param font    主字体
+     * @param context 渲染上下文（抗锯齿、小数度量、缩放）
+     */
+    private record WidthKey(Font font, FontRenderContext context) {
+    }
+
+    /**
+     * 编辑器字形宽度表
+     * BMP 字符的宽度按 256 个字符一块惰性分配（0 表示尚未测量），增补平面字符直接测量；
+     * 并发写入的是同一个值，无需同步
+     */
+    private static final class EditorGlyphWidths implements GlyphWidths {
+
+        private static final int BLOCK_BITS = 8;
+        private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
+        private final WidthKey key;
+        private final int style;
+        private final FontPreferences preferences;
+        private final short[][] blocks = new short[(Character.MAX_VALUE + 1) >> BLOCK_BITS][];
+
+        EditorGlyphWidths(WidthKey key, int style, FontPreferences preferences) {
+            this.key = key;
+            this.style = style;
+            this.preferences = preferences;
+        }
+
+        @Override
+        public int width(int codePoint) {
+            if (codePoint > Character.MAX_VALUE) {
+                return measure(codePoint);
+            }
+
+            short[] block = blocks[codePoint >> BLOCK_BITS];
+            if (block == null) {
+                block = new short[BLOCK_SIZE];
+                blocks[codePoint >> BLOCK_BITS] = block;
+            }
+            int slot = codePoint & (BLOCK_SIZE - 1);
+            short cached = block[slot];
+            if (cached == 0) {
+                cached = (short) Math.min(Short.MAX_VALUE, measure(codePoint) + 1);
+                block[slot] = cached;
+            }
+            return cached - 1;
+        }
+
+        @Override
+        public String cacheKey() {
+            Font font = key.font();
+            FontRenderContext context = key.context();
+            return font.getFontName() + ":" + font.getStyle() + ":" + font.getSize2D()
+                    + (context.isAntiAliased() ? ":aa" : "")
+                    + (context.usesFractionalMetrics() ? ":fm" : "")
+                    + ":" + context.getTransform().getScaleX();
+        }
+
+        private int measure(int codePoint) {
+            FontInfo fontInfo = ComplementaryFontsRegistry.getFontAbleToDisplay(codePoint, style, preferences, key.context());
+            return Math.max(0, fontInfo.charWidth(codePoint));
+        }
+    }
+}
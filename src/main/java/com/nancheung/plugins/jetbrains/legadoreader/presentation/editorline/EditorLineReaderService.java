@@ -1,19 +1,29 @@
 package com.nancheung.plugins.jetbrains.legadoreader.presentation.editorline;
 
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.editor.colors.EditorFontType;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.wm.IdeFocusManager;
+import com.intellij.openapi.wm.IdeFrame;
 import com.nancheung.plugins.jetbrains.legadoreader.event.PaginationEvent;
 import com.nancheung.plugins.jetbrains.legadoreader.event.ReaderEvent;
 import com.nancheung.plugins.jetbrains.legadoreader.event.ReaderEventListener;
 import com.nancheung.plugins.jetbrains.legadoreader.event.ReadingEvent;
 import com.nancheung.plugins.jetbrains.legadoreader.event.SettingsChangedEvent;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ChapterKey;
 import com.nancheung.plugins.jetbrains.legadoreader.presentation.common.UIEventSubscriber;
+import com.nancheung.plugins.jetbrains.legadoreader.service.CharCountPageMeasurer;
+import com.nancheung.plugins.jetbrains.legadoreader.service.GlyphWidthPageMeasurer;
+import com.nancheung.plugins.jetbrains.legadoreader.service.GlyphWidths;
+import com.nancheung.plugins.jetbrains.legadoreader.service.PageMeasurer;
 import com.nancheung.plugins.jetbrains.legadoreader.service.PaginationManager;
+import com.nancheung.plugins.jetbrains.legadoreader.service.PluginDisposable;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
 import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
@@ -28,15 +38,32 @@ import java.awt.*;
 @Slf4j
 public class EditorLineReaderService extends UIEventSubscriber {
 
+    /**
+     * 页码前缀的宽度样本（对应 PageData.formatForDisplay 的前缀）
+     */
+    private static final String PAGE_PREFIX_SAMPLE = "   999/999 ";
+
+    /**
+     * 按像素分页时每页至少容纳的全角字符数
+     */
+    private static final int MIN_CHARS_PER_PAGE = 8;
+
     private final PaginationManager paginationManager;
 
+    private final EditorLineRenderCache renderCache;
+
+    private final EditorGlyphWidthCache glyphWidthCache;
+
     /**
      * 构造函数
      * 订阅阅读事件，当章节切换或分页时自动刷新编辑器
+     * 订阅随插件一起释放
      */
     public EditorLineReaderService() {
-        super();
+        super(PluginDisposable.getInstance(), ReadingEvent.class, PaginationEvent.class, SettingsChangedEvent.class);
         this.paginationManager = PaginationManager.getInstance();
+        this.renderCache = EditorLineRenderCache.getInstance();
+        this.glyphWidthCache = EditorGlyphWidthCache.getInstance();
 
         log.debug("EditorLineReaderService 已初始化");
     }
@@ -49,21 +76,40 @@ public class EditorLineReaderService extends UIEventSubscriber {
      */
     @Override
     protected void onReadingEvent(ReadingEvent event) {
+        // 返回书架后清除行内内容
+        if (event.type() == ReadingEvent.ReadingEventType.SESSION_ENDED) {
+            refreshEditor();
+            return;
+        }
+
         if (event.type() != ReadingEvent.ReadingEventType.CHAPTER_LOADED) {
             return;
         }
 
+        // 跨章翻页时已经切换到该章节的分页，保持当前页
+        Integer chapterIndex = event.chapter().getIndex();
+        ChapterKey chapter = chapterIndex != null ? new ChapterKey(event.book().getBookUrl(), chapterIndex) : null;
+        if (chapter != null && event.direction() != ReadingEvent.Direction.JUMP
+                && chapter.equals(paginationManager.getCurrentChapter())) {
+            refreshEditor();
+            log.debug("章节已通过跨章翻页分页，保持当前页：{}", event.chapter().getTitle());
+            return;
+        }
+
         // 获取内容并重新分页
         String content = event.content();
 
-        int pageSize = new JLabel().getFont().getSize() * 2;
-        paginationManager.paginate(content, pageSize);
+        paginationManager.paginate(chapter, content, createPageMeasurer());
 
         // 根据方向定位页码
         if (event.direction() == ReadingEvent.Direction.PREVIOUS) {
             // 上一章，定位到最后一页
             paginationManager.goToLastPage();
             log.debug("上一章，定位到最后一页");
+        } else if (event.chapterPosition() > 0) {
+            // 跳转并恢复阅读进度，定位到进度所在页
+            paginationManager.goToOffset(event.chapterPosition());
+            log.debug("恢复阅读进度，定位到字符位置 {}", event.chapterPosition());
         } else {
             // 下一章或跳转，定位到第一页
             paginationManager.goToFirstPage();
@@ -91,43 +137,127 @@ public class EditorLineReaderService extends UIEventSubscriber {
 
     /**
      * 处理设置变更事件
-     * 当用户在设置页面保存字体设置后，触发编辑器重绘
+     * 当用户在设置页面保存字体设置或切换行内阅读后，重新分页并触发编辑器重绘
      *
      * @param event 设置变更事件
      */
     @Override
     protected void onSettingsChangedEvent(SettingsChangedEvent event) {
-        // 只处理字体设置变更
-        if (event.type() != SettingsChangedEvent.SettingsChangedType.FONT_SETTINGS
-                && event.type() != SettingsChangedEvent.SettingsChangedType.ALL_SETTINGS) {
-            return;
+        // 字体变化会改变每页容纳的文本，重新分页并停留在原来阅读的位置
+        if (event.type() == SettingsChangedEvent.SettingsChangedType.FONT_SETTINGS
+                || event.type() == SettingsChangedEvent.SettingsChangedType.ALL_SETTINGS) {
+            paginationManager.repaginate(createPageMeasurer());
         }
 
-        // 触发编辑器重绘（ReaderEditorLinePainter 会读取最新设置）
+        // 重建行内内容并触发编辑器重绘（颜色、行内阅读开关等）
         refreshEditor();
 
         log.info("EditorLine 设置变更处理完成：字体样式已刷新");
     }
 
     /**
-     * 刷新编辑器，触发行内内容重绘
+     * 根据当前编辑器创建分页度量策略
+     * 以编辑器实际绘制所用的字形宽度（含回退字体）按像素分页，预算为光标所在行末尾到可视区域右边缘的宽度；
+     * 没有打开的编辑器时退回按字符数分页
+     * 事件回调在 EDT 中执行，可以直接访问编辑器
+     */
+    private PageMeasurer createPageMeasurer() {
+        Editor editor = findSelectedEditor();
+        if (editor == null) {
+            return new CharCountPageMeasurer(new JLabel().getFont().getSize() * 2);
+        }
+
+        // 与 ReaderEditorLinePainter 的显示样式（斜体）一致
+        GlyphWidths widths = glyphWidthCache.widthsFor(editor, EditorFontType.ITALIC);
+
+        Rectangle visibleArea = editor.getScrollingModel().getVisibleArea();
+        int caretLine = editor.getCaretModel().getLogicalPosition().line;
+        int lineEndOffset = caretLine < editor.getDocument().getLineCount()
+                ? editor.getDocument().getLineEndOffset(caretLine)
+                : editor.getDocument().getTextLength();
+        int lineEndX = editor.offsetToXY(lineEndOffset).x;
+
+        // 预留页码前缀（"   123/456 "）的宽度
+        int prefixWidth = widths.width(PAGE_PREFIX_SAMPLE);
+        int budget = visibleArea.x + visibleArea.width - lineEndX - prefixWidth;
+
+        // 光标行过长时至少保留最小宽度，避免每页只有几个字
+        int minBudget = widths.width('中') * MIN_CHARS_PER_PAGE;
+        return new GlyphWidthPageMeasurer(widths, Math.max(budget, minBudget));
+    }
+
+    /**
+     * 查找显示阅读内容的编辑器（焦点项目中光标跟踪器的当前编辑器）
+     */
+    @Nullable
+    private Editor findSelectedEditor() {
+        EditorCaretTracker.ActiveLine activeLine = findActiveLine();
+        return activeLine != null ? activeLine.editor() : null;
+    }
+
+    /**
+     * 查找焦点项目中的当前编辑器及其光标行
+     *
+     * @return 当前编辑器及其光标行，没有焦点项目或没有打开的文本编辑器时返回 null
+     */
+    @Nullable
+    private EditorCaretTracker.ActiveLine findActiveLine() {
+        Project project = findFocusedProject();
+        if (project == null || project.isDisposed()) {
+            return null;
+        }
+        EditorCaretTracker.ActiveLine activeLine = EditorCaretTracker.getInstance(project).getActiveLine();
+        return activeLine != null && !activeLine.editor().isDisposed() ? activeLine : null;
+    }
+
+    /**
+     * 查找用户正在使用的项目
+     * 阅读事件不属于某个项目，以最近获得焦点的项目窗口为准；
+     * 还没有项目窗口获得过焦点时（启动中、无界面环境），只在打开了一个项目时使用该项目
+     */
+    @Nullable
+    private Project findFocusedProject() {
+        IdeFrame frame = IdeFocusManager.getGlobalInstance().getLastFocusedFrame();
+        if (frame != null && frame.getProject() != null) {
+            return frame.getProject();
+        }
+        Project[] projects = ProjectManager.getInstance().getOpenProjects();
+        return projects.length == 1 ? projects[0] : null;
+    }
+
+    /**
+     * 刷新编辑器：重建行内内容，并只重绘焦点项目中显示阅读内容的光标行
      * 在 EDT 线程中执行，确保线程安全
      */
     private void refreshEditor() {
+        renderCache.rebuild();
+
         ApplicationManager.getApplication().invokeLater(() -> {
-            // 获取当前打开的项目
-            Project[] openProjects = ProjectManager.getInstance().getOpenProjects();
-
-            for (Project project : openProjects) {
-                if (project != null && !project.isDisposed()) {
-                    Editor editor = FileEditorManager.getInstance(project).getSelectedTextEditor();
-                    if (editor != null && !editor.isDisposed()) {
-                        // 触发编辑器内容组件重绘
-                        editor.getContentComponent().repaint();
-                        log.debug("触发编辑器重绘");
-                    }
-                }
+            EditorCaretTracker.ActiveLine activeLine = findActiveLine();
+            if (activeLine != null) {
+                repaintLine(activeLine.editor(), activeLine.line());
             }
         });
     }
+
+    /**
+     * 重绘编辑器中的一行
+     * 行内内容绘制在行尾之后，因此重绘整个宽度；软换行时覆盖该逻辑行的所有可视行
+     *
+     * @param editor 编辑器
+     * @param line   逻辑行
+     */
+    private void repaintLine(Editor editor, int line) {
+        Document document = editor.getDocument();
+        JComponent component = editor.getContentComponent();
+        if (line >= document.getLineCount()) {
+            component.repaint();
+            return;
+        }
+
+        int top = editor.offsetToXY(document.getLineStartOffset(line)).y;
+        int bottom = editor.offsetToXY(document.getLineEndOffset(line)).y + editor.getLineHeight();
+        component.repaint(0, top, component.getWidth(), bottom - top);
+        log.debug("重绘光标行: {}", line);
+    }
 }
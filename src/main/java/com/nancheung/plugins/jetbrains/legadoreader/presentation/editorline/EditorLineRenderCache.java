@@ -0,0 +1,73 @@
+package com.nancheung.plugins.jetbrains.legadoreader.presentation.editorline;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.editor.LineExtensionInfo;
+import com.intellij.openapi.editor.markup.TextAttributes;
+import com.nancheung.plugins.jetbrains.legadoreader.service.IPaginationManager;
+import com.nancheung.plugins.jetbrains.legadoreader.service.PaginationManager;
+import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 编辑器行内渲染缓存（Application Service）
+ * 预先构建光标行要显示的行内内容（文本 + 样式），只在翻页、章节切换或设置变更时重建，
+ * ReaderEditorLinePainter 每次重绘只读取一个字段，不再重复格式化文本和创建样式
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class EditorLineRenderCache {
+
+    /**
+     * 当前要显示的行内内容（不可变），未启用行内阅读或没有阅读内容时为 null
+     */
+    private volatile Collection<LineExtensionInfo> extensions;
+
+    /**
+     * 获取单例实例
+     */
+    public static EditorLineRenderCache getInstance() {
+        return ApplicationManager.getApplication().getService(EditorLineRenderCache.class);
+    }
+
+    /**
+     * 获取光标行要显示的行内内容
+     *
+     * @return 行内内容，无需显示时返回 null
+     */
+    @Nullable
+    public Collection<LineExtensionInfo> getExtensions() {
+        return extensions;
+    }
+
+    /**
+     * 根据当前页和设置重建行内内容
+     * 在页码、章节或显示设置变更后调用
+     */
+    public void rebuild() {
+        PluginSettingsStorage.State state = PluginSettingsStorage.getInstance().getState();
+        IPaginationManager.PageData page = PaginationManager.getInstance().getCurrentPage();
+
+        // 未启用行内阅读或没有阅读内容时不显示
+        if (!Boolean.TRUE.equals(state.enableShowBodyInLine) || page == null) {
+            extensions = null;
+            return;
+        }
+
+        String displayText = page.formatForDisplay(PaginationManager.getInstance().getTotalPages());
+
+        TextAttributes textAttributes = new TextAttributes();
+        textAttributes.setForegroundColor(state.textBodyFontColor);
+        textAttributes.setFontType(Font.ITALIC);
+
+        extensions = Collections.singletonList(new LineExtensionInfo(displayText, textAttributes));
+        log.debug("重建行内内容: 第 {} 页", page.pageIndex() + 1);
+    }
+}
@@ -8,8 +8,11 @@ import com.intellij.ui.JBColor;
 import com.intellij.ui.components.*;
 import com.intellij.util.ui.FormBuilder;
 import com.intellij.util.ui.JBUI;
+import com.nancheung.plugins.jetbrains.legadoreader.api.HttpClientTransport;
 import com.nancheung.plugins.jetbrains.legadoreader.presentation.settings.components.CustomParamTablePanel;
 import com.nancheung.plugins.jetbrains.legadoreader.presentation.settings.validation.ValidationResult;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterPrefetchService;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ProgressSyncService;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 
@@ -57,6 +60,14 @@ public class SettingsPanel {
     private JSpinner lineHeightSpinner;
     private JTextPane fontPreviewPane;
 
+    // ==================== 高级设置组件 ====================
+    private JSpinner prefetchLoadFactorSpinner;
+    private JSpinner prefetchDepthSpinner;
+    private JSpinner connectTimeoutSpinner;
+    private JSpinner readTimeoutSpinner;
+    private JSpinner maxConnectionsSpinner;
+    private JSpinner progressSyncDelaySpinner;
+
     public SettingsPanel(SettingsViewModel viewModel) {
         this.viewModel = viewModel;
 
@@ -89,6 +100,12 @@ public class SettingsPanel {
         lineHeightSpinner.setValue(viewModel.getLineHeight());
         enableErrorLogCheckBox.setSelected(viewModel.isEnableErrorLog());
         enableInLineModelCheckBox.setSelected(viewModel.isEnableInLineMode());
+        prefetchLoadFactorSpinner.setValue(viewModel.getPrefetchLoadFactor());
+        prefetchDepthSpinner.setValue(viewModel.getPrefetchDepth());
+        connectTimeoutSpinner.setValue(viewModel.getApiConnectTimeoutMillis());
+        readTimeoutSpinner.setValue(viewModel.getApiReadTimeoutMillis());
+        maxConnectionsSpinner.setValue(viewModel.getApiMaxConnections());
+        progressSyncDelaySpinner.setValue(viewModel.getProgressSyncDelayMillis());
 
         // 更新预览
         updateFontPreview();
@@ -99,6 +116,7 @@ public class SettingsPanel {
     private void createComponents() {
         createGeneralSettingsComponents();
         createReadingInterfaceComponents();
+        createAdvancedSettingsComponents();
     }
 
     private void createGeneralSettingsComponents() {
@@ -126,6 +144,30 @@ public class SettingsPanel {
         fontPreviewPane = createFontPreviewPane();
     }
 
+    private void createAdvancedSettingsComponents() {
+        // 预载进度因子 Spinner
+        prefetchLoadFactorSpinner = createNumberSpinner(new SpinnerNumberModel(
+                0.5, ChapterPrefetchService.MIN_LOAD_FACTOR, ChapterPrefetchService.MAX_LOAD_FACTOR, 0.05), "0.00");
+        prefetchLoadFactorSpinner.setToolTipText("当前页超过本章总页数的该比例后预加载后续章节，0 表示章节一打开就预加载");
+
+        // 预加载章节数 Spinner
+        prefetchDepthSpinner = createNumberSpinner(new SpinnerNumberModel(1, 0, ChapterPrefetchService.MAX_DEPTH, 1), null);
+        prefetchDepthSpinner.setToolTipText("预加载当前章节之后的章节数，0 表示不预加载");
+
+        // 网络设置 Spinner（毫秒）
+        connectTimeoutSpinner = createNumberSpinner(new SpinnerNumberModel(5_000,
+                HttpClientTransport.MIN_CONNECT_TIMEOUT_MILLIS, HttpClientTransport.MAX_CONNECT_TIMEOUT_MILLIS, 500), "0");
+        readTimeoutSpinner = createNumberSpinner(new SpinnerNumberModel(15_000,
+                HttpClientTransport.MIN_READ_TIMEOUT_MILLIS, HttpClientTransport.MAX_READ_TIMEOUT_MILLIS, 1_000), "0");
+        maxConnectionsSpinner = createNumberSpinner(new SpinnerNumberModel(4, 1, HttpClientTransport.MAX_CONNECTIONS, 1), null);
+        maxConnectionsSpinner.setToolTipText("同一服务器地址同时进行的请求数上限");
+
+        // 进度同步延迟 Spinner（毫秒）
+        progressSyncDelaySpinner = createNumberSpinner(new SpinnerNumberModel(3_000,
+                ProgressSyncService.MIN_DELAY_MILLIS, ProgressSyncService.MAX_DELAY_MILLIS, 500), "0");
+        progressSyncDelaySpinner.setToolTipText("停止翻页超过该时间后才向服务器同步阅读进度，0 表示每次翻页立即同步");
+    }
+
     @NotNull
     private ComboBox<String> createFontNameComboBox() {
         GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
@@ -180,6 +222,22 @@ public class SettingsPanel {
         return spinner;
     }
 
+    @NotNull
+    private JSpinner createNumberSpinner(SpinnerNumberModel model, String pattern) {
+        JSpinner spinner = new JSpinner(model);
+        Dimension size = JBUI.size(80, 25);
+        spinner.setPreferredSize(size);
+        spinner.setMinimumSize(size);
+
+        if (pattern != null) {
+            spinner.setEditor(new JSpinner.NumberEditor(spinner, pattern));
+        }
+
+        configureSpinnerFormatter(spinner);
+
+        return spinner;
+    }
+
     private void configureSpinnerFormatter(JSpinner spinner) {
         JSpinner.DefaultEditor editor = (JSpinner.DefaultEditor) spinner.getEditor();
         if (editor.getTextField().getFormatter() instanceof DefaultFormatter df) {
@@ -203,7 +261,7 @@ public class SettingsPanel {
         JBPanel<?> panel = new JBPanel<>(new BorderLayout());
         panel.setBorder(JBUI.Borders.empty(10));
 
-        // 内容面板（垂直排列三个设置组）
+        // 内容面板（垂直排列各设置组）
         JBPanel<?> contentPanel = new JBPanel<>();
         contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
 
@@ -219,6 +277,11 @@ public class SettingsPanel {
         // 3. 阅读界面设置面板
         JPanel readingPanel = createReadingInterfacePanel();
         contentPanel.add(readingPanel);
+        contentPanel.add(Box.createVerticalStrut(JBUI.scale(10)));
+
+        // 4. 高级设置面板
+        JPanel advancedPanel = createAdvancedSettingsPanel();
+        contentPanel.add(advancedPanel);
 
         // 填充剩余空间
         contentPanel.add(Box.createVerticalGlue());
@@ -278,6 +341,23 @@ public class SettingsPanel {
         return contentPanel;
     }
 
+    @NotNull
+    private JPanel createAdvancedSettingsPanel() {
+        JPanel panel = FormBuilder.createFormBuilder()
+                .setVerticalGap(JBUI.scale(5))
+                .addLabeledComponent(new JBLabel("预载进度因子:"), prefetchLoadFactorSpinner, false)
+                .addLabeledComponent(new JBLabel("预加载章节数:"), prefetchDepthSpinner, false)
+                .addLabeledComponent(new JBLabel("连接超时(毫秒):"), connectTimeoutSpinner, false)
+                .addLabeledComponent(new JBLabel("读取超时(毫秒):"), readTimeoutSpinner, false)
+                .addLabeledComponent(new JBLabel("最大并发连接数:"), maxConnectionsSpinner, false)
+                .addLabeledComponent(new JBLabel("进度同步延迟(毫秒):"), progressSyncDelaySpinner, false)
+                .getPanel();
+
+        panel.setBorder(IdeBorderFactory.createTitledBorder("高级设置"));
+
+        return panel;
+    }
+
     // ==================== 双向数据绑定 ====================
 
     private void bindToViewModel() {
@@ -309,6 +389,31 @@ public class SettingsPanel {
             updateFontPreview();
         });
 
+        // 高级设置变化
+        prefetchLoadFactorSpinner.addChangeListener(e ->
+                viewModel.setPrefetchLoadFactor(((Number) prefetchLoadFactorSpinner.getValue()).doubleValue())
+        );
+
+        prefetchDepthSpinner.addChangeListener(e ->
+                viewModel.setPrefetchDepth(((Number) prefetchDepthSpinner.getValue()).intValue())
+        );
+
+        connectTimeoutSpinner.addChangeListener(e ->
+                viewModel.setApiConnectTimeoutMillis(((Number) connectTimeoutSpinner.getValue()).intValue())
+        );
+
+        readTimeoutSpinner.addChangeListener(e ->
+                viewModel.setApiReadTimeoutMillis(((Number) readTimeoutSpinner.getValue()).intValue())
+        );
+
+        maxConnectionsSpinner.addChangeListener(e ->
+                viewModel.setApiMaxConnections(((Number) maxConnectionsSpinner.getValue()).intValue())
+        );
+
+        progressSyncDelaySpinner.addChangeListener(e ->
+                viewModel.setProgressSyncDelayMillis(((Number) progressSyncDelaySpinner.getValue()).intValue())
+        );
+
         // 自定义参数变化
         customParamTablePanel.addChangeListener(viewModel::setCustomParams);
     }
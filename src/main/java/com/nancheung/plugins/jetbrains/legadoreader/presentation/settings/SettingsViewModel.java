@@ -1,6 +1,7 @@
 package com.nancheung.plugins.jetbrains.legadoreader.presentation.settings;
 
 import com.intellij.ui.JBColor;
+import com.nancheung.plugins.jetbrains.legadoreader.common.IReader;
 import com.nancheung.plugins.jetbrains.legadoreader.presentation.settings.validation.SettingsValidator;
 import com.nancheung.plugins.jetbrains.legadoreader.presentation.settings.validation.ValidationResult;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
@@ -33,6 +34,12 @@ public final class SettingsViewModel {
     private double lineHeight;
     private boolean enableErrorLog;
     private boolean enableInLineMode;
+    private double prefetchLoadFactor;
+    private int prefetchDepth;
+    private int apiConnectTimeoutMillis;
+    private int apiReadTimeoutMillis;
+    private int apiMaxConnections;
+    private int progressSyncDelayMillis;
     private final List<CustomParamEntry> customParams = new ArrayList<>();
 
     // 验证器
@@ -56,6 +63,12 @@ public final class SettingsViewModel {
         this.lineHeight = state.textBodyLineHeight;
         this.enableErrorLog = Boolean.TRUE.equals(state.enableErrorLog);
         this.enableInLineMode = Boolean.TRUE.equals(state.enableShowBodyInLine);
+        this.prefetchLoadFactor = Objects.requireNonNullElse(state.prefetchLoadFactor, IReader.DEFAULT_LOAD_FACTOR);
+        this.prefetchDepth = Objects.requireNonNullElse(state.prefetchDepth, 1);
+        this.apiConnectTimeoutMillis = Objects.requireNonNullElse(state.apiConnectTimeoutMillis, 5_000);
+        this.apiReadTimeoutMillis = Objects.requireNonNullElse(state.apiReadTimeoutMillis, 15_000);
+        this.apiMaxConnections = Objects.requireNonNullElse(state.apiMaxConnections, 4);
+        this.progressSyncDelayMillis = Objects.requireNonNullElse(state.progressSyncDelayMillis, 3_000);
 
         // 深拷贝参数列表
         this.customParams.clear();
@@ -78,6 +91,12 @@ public final class SettingsViewModel {
         state.textBodyLineHeight = lineHeight;
         state.enableErrorLog = enableErrorLog;
         state.enableShowBodyInLine = enableInLineMode;
+        state.prefetchLoadFactor = (float) prefetchLoadFactor;
+        state.prefetchDepth = prefetchDepth;
+        state.apiConnectTimeoutMillis = apiConnectTimeoutMillis;
+        state.apiReadTimeoutMillis = apiReadTimeoutMillis;
+        state.apiMaxConnections = apiMaxConnections;
+        state.progressSyncDelayMillis = progressSyncDelayMillis;
 
         state.apiCustomParams = customParams.stream()
                 .map(e -> new PluginSettingsStorage.CustomParam(e.name(), e.value()))
@@ -88,7 +107,7 @@ public final class SettingsViewModel {
      * 执行完整验证
      */
     public ValidationResult validate() {
-        return validator.validateAll(customParams, fontSize);
+        return validator.validateAll(this);
     }
 
     /**
@@ -106,6 +125,12 @@ public final class SettingsViewModel {
                 || !Objects.equals(lineHeight, state.textBodyLineHeight)
                 || enableErrorLog != Boolean.TRUE.equals(state.enableErrorLog)
                 || enableInLineMode != Boolean.TRUE.equals(state.enableShowBodyInLine)
+                || (float) prefetchLoadFactor != Objects.requireNonNullElse(state.prefetchLoadFactor, IReader.DEFAULT_LOAD_FACTOR)
+                || prefetchDepth != Objects.requireNonNullElse(state.prefetchDepth, 1)
+                || apiConnectTimeoutMillis != Objects.requireNonNullElse(state.apiConnectTimeoutMillis, 5_000)
+                || apiReadTimeoutMillis != Objects.requireNonNullElse(state.apiReadTimeoutMillis, 15_000)
+                || apiMaxConnections != Objects.requireNonNullElse(state.apiMaxConnections, 4)
+                || progressSyncDelayMillis != Objects.requireNonNullElse(state.progressSyncDelayMillis, 3_000)
                 || !customParamsEquals(state.apiCustomParams);
     }
 
@@ -1,6 +1,9 @@
 package com.nancheung.plugins.jetbrains.legadoreader.presentation.settings.validation;
 
+import com.nancheung.plugins.jetbrains.legadoreader.api.HttpClientTransport;
 import com.nancheung.plugins.jetbrains.legadoreader.presentation.settings.SettingsViewModel;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterPrefetchService;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ProgressSyncService;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -16,11 +19,15 @@ public final class SettingsValidator {
     /**
      * 验证所有设置
      */
-    public ValidationResult validateAll(List<SettingsViewModel.CustomParamEntry> params, int fontSize) {
+    public ValidationResult validateAll(SettingsViewModel viewModel) {
         List<ValidationError> errors = new ArrayList<>();
 
-        errors.addAll(validateCustomParams(params).errors());
-        errors.addAll(validateFontSize(fontSize).errors());
+        errors.addAll(validateCustomParams(viewModel.getCustomParams()).errors());
+        errors.addAll(validateFontSize(viewModel.getFontSize()).errors());
+        errors.addAll(validatePrefetch(viewModel.getPrefetchLoadFactor(), viewModel.getPrefetchDepth()).errors());
+        errors.addAll(validateNetwork(viewModel.getApiConnectTimeoutMillis(), viewModel.getApiReadTimeoutMillis(),
+                viewModel.getApiMaxConnections()).errors());
+        errors.addAll(validateProgressSyncDelay(viewModel.getProgressSyncDelayMillis()).errors());
 
         return new ValidationResult(errors.isEmpty(), errors);
     }
@@ -72,4 +79,72 @@ public final class SettingsValidator {
         }
         return ValidationResult.valid();
     }
+
+    /**
+     * 验证预加载设置
+     */
+    public ValidationResult validatePrefetch(double loadFactor, int depth) {
+        if (!(loadFactor >= ChapterPrefetchService.MIN_LOAD_FACTOR && loadFactor <= ChapterPrefetchService.MAX_LOAD_FACTOR)) {
+            return ValidationResult.of(new ValidationError(
+                ValidationErrorType.INVALID_PREFETCH_SETTING,
+                -1,
+                "预载进度因子必须在 0-1 之间"
+            ));
+        }
+        if (depth < 0 || depth > ChapterPrefetchService.MAX_DEPTH) {
+            return ValidationResult.of(new ValidationError(
+                ValidationErrorType.INVALID_PREFETCH_SETTING,
+                -1,
+                "预加载章节数必须在 0-" + ChapterPrefetchService.MAX_DEPTH + " 之间（0 表示不预加载）"
+            ));
+        }
+        return ValidationResult.valid();
+    }
+
+    /**
+     * 验证网络设置
+     */
+    public ValidationResult validateNetwork(int connectTimeoutMillis, int readTimeoutMillis, int maxConnections) {
+        if (connectTimeoutMillis < HttpClientTransport.MIN_CONNECT_TIMEOUT_MILLIS
+                || connectTimeoutMillis > HttpClientTransport.MAX_CONNECT_TIMEOUT_MILLIS) {
+            return ValidationResult.of(new ValidationError(
+                ValidationErrorType.INVALID_NETWORK_SETTING,
+                -1,
+                "连接超时必须在 " + HttpClientTransport.MIN_CONNECT_TIMEOUT_MILLIS + "-"
+                        + HttpClientTransport.MAX_CONNECT_TIMEOUT_MILLIS + " 毫秒之间"
+            ));
+        }
+        if (readTimeoutMillis < HttpClientTransport.MIN_READ_TIMEOUT_MILLIS
+                || readTimeoutMillis > HttpClientTransport.MAX_READ_TIMEOUT_MILLIS) {
+            return ValidationResult.of(new ValidationError(
+                ValidationErrorType.INVALID_NETWORK_SETTING,
+                -1,
+                "读取超时必须在 " + HttpClientTransport.MIN_READ_TIMEOUT_MILLIS + "-"
+                        + HttpClientTransport.MAX_READ_TIMEOUT_MILLIS + " 毫秒之间"
+            ));
+        }
+        if (maxConnections < 1 || maxConnections > HttpClientTransport.MAX_CONNECTIONS) {
+            return ValidationResult.of(new ValidationError(
+                ValidationErrorType.INVALID_NETWORK_SETTING,
+                -1,
+                "最大并发连接数必须在 1-" + HttpClientTransport.MAX_CONNECTIONS + " 之间"
+            ));
+        }
+        return ValidationResult.valid();
+    }
+
+    /**
+     * 验证进度同步静默期
+     */
+    public ValidationResult validateProgressSyncDelay(int delayMillis) {
+        if (delayMillis < ProgressSyncService.MIN_DELAY_MILLIS || delayMillis > ProgressSyncService.MAX_DELAY_MILLIS) {
+            return ValidationResult.of(new ValidationError(
+                ValidationErrorType.INVALID_PROGRESS_SYNC_SETTING,
+                -1,
+                "进度同步延迟必须在 " + ProgressSyncService.MIN_DELAY_MILLIS + "-"
+                        + ProgressSyncService.MAX_DELAY_MILLIS + " 毫秒之间（0 表示立即同步）"
+            ));
+        }
+        return ValidationResult.valid();
+    }
 }
@@ -17,5 +17,20 @@ public enum ValidationErrorType {
     /**
      * 字体大小无效
      */
-    INVALID_FONT_SIZE
+    INVALID_FONT_SIZE,
+
+    /**
+     * 预加载设置无效
+     */
+    INVALID_PREFETCH_SETTING,
+
+    /**
+     * 网络设置无效
+     */
+    INVALID_NETWORK_SETTING,
+
+    /**
+     * 进度同步设置无效
+     */
+    INVALID_PROGRESS_SYNC_SETTING
 }
@@ -1,6 +1,9 @@
 package com.nancheung.plugins.jetbrains.legadoreader.presentation.toolwindow;
 
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
 import com.intellij.ui.components.JBPanel;
 import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookDTO;
 import com.nancheung.plugins.jetbrains.legadoreader.command.Command;
@@ -17,9 +20,12 @@ import com.nancheung.plugins.jetbrains.legadoreader.presentation.toolwindow.pane
 import com.nancheung.plugins.jetbrains.legadoreader.presentation.toolwindow.handler.MainPanelEventHandler;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Getter
@@ -40,15 +46,19 @@ public class MainReaderPanel extends UIEventSubscriber {
     // ==================== 事件处理器 ====================
     private final MainPanelEventHandler eventHandler;
 
-    // ==================== 单例实例 ====================
-    private static MainReaderPanel INSTANCE;
+    // ==================== 项目实例 ====================
+    private static final Map<Project, MainReaderPanel> INSTANCES = new ConcurrentHashMap<>();
 
     // ==================== 样式管理器 ====================
     private final TextBodyStyling textBodyStyling = new TextBodyStyling();
 
     // ==================== 构造函数 ====================
-    public MainReaderPanel() {
-        super();
+
+    /**
+     * @param parent 面板的生命周期（工具窗口），释放时取消事件订阅
+     */
+    private MainReaderPanel(Disposable parent) {
+        super(parent, ReadingEvent.class, PaginationEvent.class, SettingsChangedEvent.class);
 
         // 创建 UI 组件
         createRootPanel();
@@ -118,13 +128,29 @@ public class MainReaderPanel extends UIEventSubscriber {
     }
 
     /**
-     * 获取单例实例
+     * 为项目的工具窗口创建面板
+     * 面板随工具窗口释放（关闭项目或重新创建工具窗口时），释放后不再接收事件
+     *
+     * @param project 项目
+     * @param parent  工具窗口的 Disposable
+     * @return 新建的面板
+     */
+    public static MainReaderPanel create(Project project, Disposable parent) {
+        MainReaderPanel panel = new MainReaderPanel(parent);
+        INSTANCES.put(project, panel);
+        Disposer.register(parent, () -> INSTANCES.remove(project, panel));
+        return panel;
+    }
+
+    /**
+     * 获取项目的面板
+     *
+     * @param project 项目
+     * @return 面板，工具窗口尚未打开时返回 null
      */
-    public static MainReaderPanel getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new MainReaderPanel();
-        }
-        return INSTANCE;
+    @Nullable
+    public static MainReaderPanel getInstance(@Nullable Project project) {
+        return project != null ? INSTANCES.get(project) : null;
     }
 
     /**
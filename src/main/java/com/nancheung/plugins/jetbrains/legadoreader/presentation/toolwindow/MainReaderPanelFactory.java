@@ -14,8 +14,8 @@ public class MainReaderPanelFactory implements ToolWindowFactory {
         //获取内容工厂的实例
         ContentFactory contentFactory = ContentFactory.getInstance();
 
-        // 获取 MainReaderPanel 实例（懒加载）
-        MainReaderPanel mainReaderPanel = MainReaderPanel.getInstance();
+        // 为当前项目创建 MainReaderPanel，随工具窗口一起释放
+        MainReaderPanel mainReaderPanel = MainReaderPanel.create(project, toolWindow.getDisposable());
 
         // 初始化地址历史记录（延迟访问 Service）
         mainReaderPanel.initAddressHistory();
@@ -35,6 +35,11 @@ public class MainPanelEventHandler {
 
     private UIState currentState = UIState.INITIALIZED;
 
+    /**
+     * 正文面板当前显示的章节索引（未显示章节时为 -1）
+     */
+    private int displayedChapterIndex = -1;
+
     // ==================== 面板引用 ====================
     private final MainReaderPanel mainPanel;
     private final BookshelfPanel bookshelfPanel;
@@ -79,8 +84,16 @@ public class MainPanelEventHandler {
             return;
         }
 
-        // 获取当前页数据
+        // 跨章翻页后、新章节加载完成前，正文面板仍显示原章节，新章节的页位置在原文本中没有意义
         PaginationManager paginationManager = PaginationManager.getInstance();
+        if (event.chapterIndex() != displayedChapterIndex
+                || paginationManager.getCurrentChapterIndex() != displayedChapterIndex) {
+            log.debug("分页事件不属于正文面板显示的章节，跳过光标同步: {} != {}",
+                    event.chapterIndex(), displayedChapterIndex);
+            return;
+        }
+
+        // 获取当前页数据
         IPaginationManager.PageData currentPage = paginationManager.getCurrentPage();
 
         if (currentPage == null || currentPage.startPos() < 0) {
@@ -96,7 +109,7 @@ public class MainPanelEventHandler {
         }
 
         // 计算标题长度（标题 + 换行符）
-        String title = session.chapters().get(session.currentChapterIndex()).getTitle();
+        String title = session.chapters().get(displayedChapterIndex).getTitle();
         int titleLength = (title != null && !title.isEmpty()) ? title.length() + 1 : 0;
 
         // 计算光标位置
@@ -159,6 +172,7 @@ public class MainPanelEventHandler {
      */
     private void handleLoadingStarted(ReadingEvent event) {
         currentState = UIState.LOADING;
+        displayedChapterIndex = -1;
 
         log.info("UI 进入加载状态: book={}, chapterIndex={}",
                 event.book().getName(), event.chapter().getIndex());
@@ -187,12 +201,18 @@ public class MainPanelEventHandler {
         String title = event.chapter().getTitle();
         String content = event.content();
         textBodyPanel.setText(title + "\n" + content);
+        Integer chapterIndex = event.chapter().getIndex();
+        displayedChapterIndex = chapterIndex != null ? chapterIndex : -1;
 
         // 应用样式（在 setText 之后）
         textBodyPanel.applyStyleFromSettings();
 
-        // 设置光标位置
-        textBodyPanel.setCaretPosition(event.chapterPosition());
+        // 设置光标位置（阅读位置是正文中的偏移，需跳过标题行）
+        String text = textBodyPanel.getText();
+        int caretPosition = event.chapterPosition() > 0 ? text.indexOf('\n') + 1 + event.chapterPosition() : 0;
+        caretPosition = Math.min(caretPosition, text.length());
+        textBodyPanel.setCaretPosition(caretPosition);
+        textBodyPanel.scrollToPosition(caretPosition);
     }
 
     /**
@@ -220,6 +240,7 @@ public class MainPanelEventHandler {
      */
     private void handleSessionEnded() {
         currentState = UIState.INITIALIZED;
+        displayedChapterIndex = -1;
         log.info("会话结束，返回书架");
 
         // 显示书架面板
@@ -5,6 +5,7 @@ import com.intellij.openapi.ui.ComboBox;
 import com.intellij.ui.components.JBPanel;
 import com.intellij.ui.components.JBTextField;
 import com.intellij.util.ui.JBUI;
+import com.nancheung.plugins.jetbrains.legadoreader.service.PluginExecutorService;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.AddressHistoryStorage;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +13,6 @@ import lombok.extern.slf4j.Slf4j;
 import javax.swing.*;
 import java.awt.event.ItemEvent;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -114,7 +114,7 @@ public class AddressBarPanel<T> extends JBPanel<AddressBarPanel<T>> {
         AddressHistoryStorage.getInstance().addAddress(text);
         refreshHistory();
 
-        CompletableFuture.supplyAsync(loadAction)
+        PluginExecutorService.getInstance().supplyAsync(loadAction)
                 .handle((result, throwable) -> {
                     ApplicationManager.getApplication().invokeLater(() -> {
                         if (throwable == null) {
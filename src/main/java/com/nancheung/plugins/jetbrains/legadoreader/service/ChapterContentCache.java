@@ -0,0 +1,169 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ChapterKey;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 章节内容内存缓存（Application Service）
+ * LRU 淘汰，按缓存内容的总字符数限制容量（而非条目数）
+ * 只有 {@link #get} 计入命中统计并更新访问顺序，预加载等内部读取使用 {@link #peek}
+ * 线程安全，所有访问在实例锁内完成
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class ChapterContentCache {
+
+    /**
+     * 缓存总字符数上限（约 8 MB 内存）
+     */
+    private static final long MAX_TOTAL_CHARS = 4_000_000L;
+
+    /**
+     * 按访问顺序排列的缓存条目（最久未访问的在最前）
+     * 使用插入顺序，由 {@link #get} 和 {@link #put} 重新插入来更新顺序，使 {@link #peek} 可以不影响顺序
+     */
+    private final LinkedHashMap<ChapterKey, String> entries = new LinkedHashMap<>();
+
+    /**
+     * 当前缓存的总字符数
+     */
+    private long totalChars;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * 获取单例实例
+     */
+    public static ChapterContentCache getInstance() {
+        return ApplicationManager.getApplication().getService(ChapterContentCache.class);
+    }
+
+    /**
+     * 获取缓存的章节内容
+     *
+     * @param key 章节标识
+     * @return 章节内容，未命中返回 null
+     */
+    @Nullable
+    public synchronized String get(ChapterKey key) {
+        String content = entries.remove(key);
+        if (content != null) {
+            // 移到末尾（最近访问）
+            entries.put(key, content);
+            hits++;
+        } else {
+            misses++;
+        }
+        return content;
+    }
+
+    /**
+     * 读取缓存的章节内容（不影响访问顺序和命中统计）
+     * 用于预加载、跨章翻页等不代表一次阅读访问的内部读取
+     *
+     * @param key 章节标识
+     * @return 章节内容，未缓存返回 null
+     */
+    @Nullable
+    public synchronized String peek(ChapterKey key) {
+        return entries.get(key);
+    }
+
+    /**
+     * 查看是否已缓存（不影响访问顺序和命中统计）
+     *
+     * @param key 章节标识
+     * @return true 如果已缓存
+     */
+    public synchronized boolean contains(ChapterKey key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * 缓存章节内容
+     * 超出容量时按 LRU 顺序淘汰，单章超过总容量时不缓存
+     *
+     * @param key     章节标识
+     * @param content 章节内容
+     */
+    public synchronized void put(ChapterKey key, String content) {
+        if (content == null || content.length() > MAX_TOTAL_CHARS) {
+            return;
+        }
+
+        String previous = entries.remove(key);
+        entries.put(key, content);
+        if (previous != null) {
+            totalChars -= previous.length();
+        }
+        totalChars += content.length();
+
+        Iterator<Map.Entry<ChapterKey, String>> iterator = entries.entrySet().iterator();
+        while (totalChars > MAX_TOTAL_CHARS && iterator.hasNext()) {
+            Map.Entry<ChapterKey, String> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            totalChars -= eldest.getValue().length();
+            iterator.remove();
+            evictions++;
+            log.debug("淘汰章节缓存: {}", eldest.getKey());
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        entries.clear();
+        totalChars = 0;
+        log.debug("清空章节缓存");
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 统计信息快照
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, entries.size(), totalChars);
+    }
+
+    /**
+     * 缓存统计信息（不可变）
+     *
+     * @param hits       命中次数
+     * @param misses     未命中次数
+     * @param evictions  淘汰次数
+     * @param entries    当前条目数
+     * @param totalChars 当前总字符数
+     */
+    public record CacheStats(
+            long hits,
+            long misses,
+            long evictions,
+            int entries,
+            long totalChars
+    ) {
+        /**
+         * 命中率
+         *
+         * @return 命中率（0 ~ 1），没有访问时为 0
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
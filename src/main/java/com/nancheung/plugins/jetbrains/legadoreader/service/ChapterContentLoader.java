@@ -0,0 +1,123 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.nancheung.plugins.jetbrains.legadoreader.api.ApiUtil;
+import com.nancheung.plugins.jetbrains.legadoreader.common.FutureUtil;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ChapterKey;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 章节内容加载器（Application Service）
+ * 统一章节内容的获取路径：内存缓存 → 磁盘缓存 → 网络
+ * 指令处理器应通过此类获取正文，而不是直接调用 ApiUtil
+ * 磁盘缓存按章节指纹校验，目录变化后不会返回其他章节的内容
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class ChapterContentLoader {
+
+    private final ChapterContentCache memoryCache;
+    private final ChapterDiskCache diskCache;
+
+    /**
+     * 获取单例实例
+     */
+    public static ChapterContentLoader getInstance() {
+        return ApplicationManager.getApplication().getService(ChapterContentLoader.class);
+    }
+
+    /**
+     * 构造函数（由 IntelliJ Platform 调用）
+     */
+    public ChapterContentLoader() {
+        this.memoryCache = ChapterContentCache.getInstance();
+        this.diskCache = ChapterDiskCache.getInstance();
+    }
+
+    /**
+     * 加载章节内容（前台阅读）
+     * 内存缓存命中时返回已完成的 Future，章节正在预加载时复用预加载的结果
+     * 磁盘缓存在插件后台线程读取，不占用调用线程
+     *
+     * @param bookUrl      书籍 URL
+     * @param chapterIndex 章节索引
+     * @param fingerprint  章节指纹（见 {@link ChapterDiskCache#fingerprintOf}），为 null 时跳过磁盘缓存
+     * @return 章节内容的 Future
+     */
+    public CompletableFuture<String> load(String bookUrl, int chapterIndex, @Nullable String fingerprint) {
+        ChapterKey key = new ChapterKey(bookUrl, chapterIndex);
+
+        CompletableFuture<String> pending = ChapterPrefetchService.getInstance().claim(key);
+        if (pending != null) {
+            log.debug("章节内容正在预加载，等待预加载结果: {}", key);
+            // 前台取消不影响预加载本身
+            return pending.thenApply(content -> content);
+        }
+
+        return fetch(key, fingerprint, false);
+    }
+
+    /**
+     * 预加载章节内容（后台）
+     * 与 {@link #load(String, int, String)} 相同，但不计入预加载命中率统计，
+     * 查询内存缓存时也不影响其命中统计和 LRU 顺序
+     * 取消返回的 Future 会中止网络请求
+     *
+     * @param bookUrl      书籍 URL
+     * @param chapterIndex 章节索引
+     * @param fingerprint  章节指纹，为 null 时跳过磁盘缓存
+     * @return 章节内容的 Future
+     */
+    public CompletableFuture<String> prefetch(String bookUrl, int chapterIndex, @Nullable String fingerprint) {
+        return fetch(new ChapterKey(bookUrl, chapterIndex), fingerprint, true);
+    }
+
+    private CompletableFuture<String> fetch(ChapterKey key, @Nullable String fingerprint, boolean background) {
+        String cached = background ? memoryCache.peek(key) : memoryCache.get(key);
+        if (cached != null) {
+            log.debug("章节内容命中内存缓存: {}", key);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        if (fingerprint == null) {
+            return fetchRemote(key, null);
+        }
+
+        // 磁盘读取（首次还要扫描段文件重建索引）放到后台线程，未命中时再发起网络请求
+        CompletableFuture<String> stored = PluginExecutorService.getInstance()
+                .supplyAsync(() -> diskCache.get(key, fingerprint));
+        return FutureUtil.compose(stored, content -> {
+            if (content == null) {
+                return fetchRemote(key, fingerprint);
+            }
+            log.debug("章节内容命中磁盘缓存: {}", key);
+            memoryCache.put(key, content);
+            return CompletableFuture.completedFuture(content);
+        });
+    }
+
+    private CompletableFuture<String> fetchRemote(ChapterKey key, @Nullable String fingerprint) {
+        return FutureUtil.map(ApiUtil.getBookContentAsync(key.bookUrl(), key.chapterIndex()), content -> {
+            memoryCache.put(key, content);
+            PluginExecutorService.getInstance().runAsync(() -> diskCache.put(key, fingerprint, content));
+            return content;
+        });
+    }
+
+    /**
+     * 清空内存和磁盘中的章节缓存
+     * 涉及磁盘 I/O，在插件后台线程执行
+     *
+     * @return 清空完成的 Future
+     */
+    public CompletableFuture<Void> clearCaches() {
+        memoryCache.clear();
+        return PluginExecutorService.getInstance().runAsync(diskCache::clear);
+    }
+}
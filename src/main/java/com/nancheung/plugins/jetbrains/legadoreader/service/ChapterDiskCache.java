@@ -0,0 +1,580 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.Service;
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookChapterDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ChapterKey;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 章节内容磁盘缓存（Application Service）
+ * 已读或预加载过的章节在 IDE 重启后依然可用，减少对阅读服务器（通常是手机）的请求
+ * <p>
+ * 存储结构：IDE system 目录下的若干只追加（append-only）段文件，每条记录为
+ * [书籍 URL 长度][书籍 URL][章节索引][章节指纹长度][章节指纹][原文字节数][压缩后长度][Deflate 压缩的 UTF-8 正文]
+ * 首次访问时顺序扫描段文件重建 (bookUrl, chapterIndex) → 偏移量 的内存索引（同一章节以最后写入的记录为准），读取时使用内存映射
+ * 段文件总数超过上限时整体删除最旧的段
+ * <p>
+ * 章节指纹（章节 URL，没有时为标题）随记录保存，读取时必须与当前目录中的章节一致，
+ * 书源调整了章节顺序或刷新了目录后，旧的记录不会再被当作该章节的内容
+ * <p>
+ * 打开和读取都涉及磁盘 I/O，应在后台线程调用（见 {@link #openAsync()}）
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class ChapterDiskCache implements Disposable {
+
+    /**
+     * 单个段文件的大小上限，超过后切换到新段
+     */
+    private static final long MAX_SEGMENT_BYTES = 4L * 1024 * 1024;
+
+    /**
+     * 保留的段文件数量上限（总计约 64 MB 压缩数据）
+     */
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * 单章原文和压缩数据的字节数上限，扫描时超出的长度视为记录损坏
+     */
+    private static final int MAX_CHAPTER_BYTES = 32 * 1024 * 1024;
+
+    /**
+     * 缓存目录名（记录格式变化时更换，旧格式的目录在打开时删除）
+     */
+    private static final String DIRECTORY_NAME = "chapter-cache-v2";
+
+    /**
+     * 旧格式（不含章节指纹）的缓存目录
+     */
+    private static final String LEGACY_DIRECTORY_NAME = "chapter-cache";
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    /**
+     * 缓存目录
+     */
+    private final Path directory;
+
+    /**
+     * 章节索引
+     */
+    private final Map<ChapterKey, Location> index = new ConcurrentHashMap<>();
+
+    /**
+     * 段文件（按段号排序），只在实例锁内修改
+     */
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+
+    /**
+     * 当前写入的段文件通道
+     */
+    private FileChannel activeChannel;
+
+    /**
+     * 下一个段号（清空缓存后也不复用旧段号，避免追加到尚未删除的旧文件）
+     */
+    private int nextSegmentId;
+
+    private volatile boolean opened;
+    private volatile boolean disabled;
+
+    /**
+     * 获取单例实例
+     */
+    public static ChapterDiskCache getInstance() {
+        return ApplicationManager.getApplication().getService(ChapterDiskCache.class);
+    }
+
+    /**
+     * 构造函数（由 IntelliJ Platform 调用）
+     * 真正的打开和索引重建延迟到第一次访问
+     */
+    public ChapterDiskCache() {
+        this(Path.of(PathManager.getSystemPath(), "legado-reader", DIRECTORY_NAME));
+    }
+
+    /**
+     * 使用指定目录（测试用）
+     *
+     * @param directory 缓存目录
+     */
+    ChapterDiskCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 在插件后台线程打开缓存并重建索引，避免第一次读取时在调用线程上扫描段文件
+     *
+     * @return 打开完成的 Future（缓存不可用时同样正常完成）
+     */
+    public CompletableFuture<Void> openAsync() {
+        return PluginExecutorService.getInstance().runAsync(this::ensureOpen);
+    }
+
+    /**
+     * 读取缓存的章节内容
+     * 涉及磁盘 I/O，不要在 EDT 或指令线程上调用
+     *
+     * @param key         章节标识
+     * @param fingerprint 当前目录中该章节的指纹（见 {@link #fingerprintOf(BookChapterDTO)}），为 null 时无法校验，视为未命中
+     * @return 章节内容，未命中、指纹不一致或读取失败返回 null
+     */
+    @Nullable
+    public String get(ChapterKey key, @Nullable String fingerprint) {
+        if (fingerprint == null || !ensureOpen()) {
+            return null;
+        }
+
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+
+        // 书源的章节目录已变化，缓存的是另一章的内容
+        if (!fingerprint.equals(location.fingerprint())) {
+            log.debug("章节指纹不一致，忽略磁盘缓存: {}", key);
+            return null;
+        }
+
+        try {
+            ByteBuffer mapped = mappingFor(location);
+            if (mapped == null) {
+                return null;
+            }
+
+            byte[] compressed = new byte[location.compressedLength()];
+            mapped.get(Math.toIntExact(location.offset()), compressed);
+            return inflate(compressed, location.rawLength());
+        } catch (IOException | DataFormatException | IndexOutOfBoundsException e) {
+            log.warn("读取章节磁盘缓存失败: {}", key, e);
+            index.remove(key, location);
+            return null;
+        }
+    }
+
+    /**
+     * 写入章节内容（追加到当前段文件）
+     * 章节已存在时追加新记录并覆盖索引，旧记录随段文件淘汰
+     * 涉及磁盘 I/O，不要在 EDT 或指令线程上调用
+     *
+     * @param key         章节标识
+     * @param fingerprint 章节指纹，为 null 时不写入（之后无法校验）
+     * @param content     章节内容
+     */
+    public void put(ChapterKey key, @Nullable String fingerprint, String content) {
+        if (fingerprint == null || content == null || content.isEmpty() || !ensureOpen()) {
+            return;
+        }
+
+        byte[] url = key.bookUrl().getBytes(StandardCharsets.UTF_8);
+        byte[] chapterFingerprint = fingerprint.getBytes(StandardCharsets.UTF_8);
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        if (raw.length > MAX_CHAPTER_BYTES) {
+            log.debug("章节过大，不写入磁盘缓存: {}, {} 字节", key, raw.length);
+            return;
+        }
+        byte[] compressed = deflate(raw);
+
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES * 5 + url.length + chapterFingerprint.length + compressed.length);
+        record.putInt(url.length).put(url)
+                .putInt(key.chapterIndex())
+                .putInt(chapterFingerprint.length).put(chapterFingerprint)
+                .putInt(raw.length)
+                .putInt(compressed.length);
+        int dataOffsetInRecord = record.position();
+        record.put(compressed).flip();
+
+        synchronized (this) {
+            try {
+                rollSegmentIfNeeded();
+
+                Segment active = segments.lastEntry().getValue();
+                long recordStart = activeChannel.size();
+                while (record.hasRemaining()) {
+                    activeChannel.write(record);
+                }
+
+                index.put(key, new Location(active.id(), recordStart + dataOffsetInRecord, compressed.length, raw.length, fingerprint));
+                log.debug("章节写入磁盘缓存: {}, {} → {} 字节", key, raw.length, compressed.length);
+            } catch (IOException e) {
+                log.warn("写入章节磁盘缓存失败: {}", key, e);
+            }
+        }
+    }
+
+    /**
+     * 获取已缓存的章节数
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * 清空磁盘缓存，删除所有段文件
+     * 涉及磁盘 I/O，不要在 EDT 上调用
+     */
+    public void clear() {
+        if (!ensureOpen()) {
+            return;
+        }
+
+        synchronized (this) {
+            try {
+                if (activeChannel != null) {
+                    activeChannel.close();
+                    activeChannel = null;
+                }
+            } catch (IOException e) {
+                log.warn("关闭章节磁盘缓存失败", e);
+            }
+
+            index.clear();
+            for (Segment segment : segments.values()) {
+                segment.mapped = null;
+                deleteSegment(segment);
+            }
+            segments.clear();
+            log.info("章节磁盘缓存已清空: {}", directory);
+        }
+    }
+
+    /**
+     * 计算章节指纹：章节 URL，没有时为标题
+     *
+     * @param chapter 章节目录中的章节
+     * @return 章节指纹，章节信息不足时返回 null
+     */
+    @Nullable
+    public static String fingerprintOf(@Nullable BookChapterDTO chapter) {
+        if (chapter == null) {
+            return null;
+        }
+        if (chapter.getUrl() != null && !chapter.getUrl().isBlank()) {
+            return chapter.getUrl();
+        }
+        if (chapter.getTitle() != null && !chapter.getTitle().isBlank()) {
+            return "title:" + chapter.getTitle();
+        }
+        return null;
+    }
+
+    /**
+     * 打开缓存目录并重建索引（只执行一次）
+     *
+     * @return true 如果缓存可用
+     */
+    private boolean ensureOpen() {
+        if (opened) {
+            return !disabled;
+        }
+
+        synchronized (this) {
+            if (opened) {
+                return !disabled;
+            }
+
+            try {
+                deleteLegacyDirectory(directory.resolveSibling(LEGACY_DIRECTORY_NAME));
+                Files.createDirectories(directory);
+
+                try (Stream<Path> files = Files.list(directory)) {
+                    files.forEach(file -> {
+                        Integer id = parseSegmentId(file);
+                        if (id != null) {
+                            segments.put(id, new Segment(id, file));
+                        }
+                    });
+                }
+
+                boolean tailComplete = true;
+                for (Segment segment : segments.values()) {
+                    long validLength = scanSegment(segment);
+                    tailComplete = validLength == Files.size(segment.file());
+                }
+                nextSegmentId = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+
+                // 上次写入中断时最后一段末尾有不完整的记录，不再向其追加（否则之后的记录无法被扫描到）
+                if (!segments.isEmpty() && tailComplete) {
+                    activeChannel = openForAppend(segments.lastEntry().getValue());
+                } else if (!tailComplete) {
+                    log.warn("章节缓存段末尾记录不完整，新记录将写入新段: {}", segments.lastEntry().getValue().file());
+                }
+
+                log.info("章节磁盘缓存已打开: {}，共 {} 个段，{} 个章节", directory, segments.size(), index.size());
+            } catch (IOException e) {
+                disabled = true;
+                log.warn("章节磁盘缓存不可用: {}", directory, e);
+            }
+
+            opened = true;
+            return !disabled;
+        }
+    }
+
+    /**
+     * 扫描段文件，把其中的记录加入索引
+     *
+     * @return 最后一条完整记录的结束位置
+     */
+    private long scanSegment(Segment segment) throws IOException {
+        ByteBuffer buffer = segment.map();
+        long position = 0;
+
+        while (buffer.remaining() >= Integer.BYTES) {
+            int recordStart = buffer.position();
+            try {
+                int urlLength = buffer.getInt();
+                if (urlLength < 0 || urlLength > buffer.remaining()) {
+                    break;
+                }
+                byte[] url = new byte[urlLength];
+                buffer.get(url);
+                int chapterIndex = buffer.getInt();
+                int fingerprintLength = buffer.getInt();
+                if (fingerprintLength < 0 || fingerprintLength > buffer.remaining()) {
+                    break;
+                }
+                byte[] fingerprint = new byte[fingerprintLength];
+                buffer.get(fingerprint);
+                int rawLength = buffer.getInt();
+                int compressedLength = buffer.getInt();
+                if (!isValidLength(rawLength) || !isValidLength(compressedLength)) {
+                    // 长度字段损坏，之后的记录边界也无法确定
+                    log.warn("章节缓存段记录长度无效: {} @ {}，原文 {} 字节，压缩后 {} 字节",
+                            segment.file(), recordStart, rawLength, compressedLength);
+                    break;
+                }
+                if (compressedLength > buffer.remaining()) {
+                    break;
+                }
+                int dataOffset = buffer.position();
+                buffer.position(dataOffset + compressedLength);
+
+                ChapterKey key = new ChapterKey(new String(url, StandardCharsets.UTF_8), chapterIndex);
+                index.put(key, new Location(segment.id(), dataOffset, compressedLength, rawLength,
+                        new String(fingerprint, StandardCharsets.UTF_8)));
+                position = buffer.position();
+            } catch (RuntimeException e) {
+                log.warn("章节缓存段记录损坏: {} @ {}", segment.file(), recordStart);
+                break;
+            }
+        }
+
+        return position;
+    }
+
+    private static boolean isValidLength(int length) {
+        return length >= 0 && length <= MAX_CHAPTER_BYTES;
+    }
+
+    /**
+     * 当前段写满时切换到新段，并删除超出数量上限的旧段
+     */
+    private void rollSegmentIfNeeded() throws IOException {
+        if (activeChannel != null && activeChannel.size() < MAX_SEGMENT_BYTES) {
+            return;
+        }
+
+        if (activeChannel != null) {
+            activeChannel.close();
+        }
+
+        int nextId = nextSegmentId++;
+        Segment segment = new Segment(nextId, directory.resolve(SEGMENT_PREFIX + "%08d".formatted(nextId) + SEGMENT_SUFFIX));
+        segments.put(nextId, segment);
+        activeChannel = openForAppend(segment);
+
+        while (segments.size() > MAX_SEGMENTS) {
+            Segment eldest = segments.pollFirstEntry().getValue();
+            index.values().removeIf(location -> location.segmentId() == eldest.id());
+            deleteSegment(eldest);
+            log.debug("删除最旧的章节缓存段: {}", eldest.file());
+        }
+    }
+
+    private static void deleteSegment(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.file());
+        } catch (IOException e) {
+            // Windows 下仍被映射的文件无法立即删除，退出时再删
+            segment.file().toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * 删除旧格式的缓存目录（尽力而为）
+     */
+    private static void deleteLegacyDirectory(Path legacy) {
+        if (!Files.isDirectory(legacy)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(legacy)) {
+            files.forEach(file -> file.toFile().delete());
+            Files.deleteIfExists(legacy);
+            log.info("已删除旧格式的章节缓存: {}", legacy);
+        } catch (IOException e) {
+            log.debug("删除旧格式的章节缓存失败: {}", legacy, e);
+        }
+    }
+
+    /**
+     * 获取记录所在段的内存映射，段文件在映射后继续增长时重新映射
+     */
+    @Nullable
+    private synchronized ByteBuffer mappingFor(Location location) throws IOException {
+        Segment segment = segments.get(location.segmentId());
+        if (segment == null) {
+            return null;
+        }
+
+        MappedByteBuffer mapped = segment.mapped;
+        if (mapped == null || location.offset() + location.compressedLength() > mapped.capacity()) {
+            segment.map();
+            mapped = segment.mapped;
+        }
+        return mapped.duplicate();
+    }
+
+    private FileChannel openForAppend(Segment segment) throws IOException {
+        return FileChannel.open(segment.file(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Nullable
+    private static Integer parseSegmentId(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] compressed, int rawLength) throws DataFormatException {
+        if (!isValidLength(rawLength)) {
+            throw new DataFormatException("原文长度无效: " + rawLength);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, length, rawLength - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("压缩数据不完整");
+                }
+                length += n;
+            }
+            return new String(raw, 0, length, StandardCharsets.UTF_8);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 关闭写入通道（由 IntelliJ Platform 在应用关闭时自动调用）
+     */
+    @Override
+    public synchronized void dispose() {
+        try {
+            if (activeChannel != null) {
+                activeChannel.close();
+            }
+        } catch (IOException e) {
+            log.warn("关闭章节磁盘缓存失败", e);
+        }
+        segments.values().forEach(segment -> segment.mapped = null);
+        log.info("ChapterDiskCache 已关闭");
+    }
+
+    /**
+     * 记录位置
+     *
+     * @param segmentId        段号
+     * @param offset           压缩数据在段文件中的偏移量
+     * @param compressedLength 压缩数据长度
+     * @param rawLength        原文 UTF-8 字节数
+     * @param fingerprint      写入时的章节指纹
+     */
+    private record Location(int segmentId, long offset, int compressedLength, int rawLength, String fingerprint) {
+    }
+
+    /**
+     * 段文件及其只读内存映射
+     */
+    private static final class Segment {
+
+        private final int id;
+        private final Path file;
+        private MappedByteBuffer mapped;
+
+        Segment(int id, Path file) {
+            this.id = id;
+            this.file = file;
+        }
+
+        int id() {
+            return id;
+        }
+
+        Path file() {
+            return file;
+        }
+
+        /**
+         * 映射整个段文件（只读）
+         *
+         * @return 映射缓冲区的独立视图
+         */
+        ByteBuffer map() throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            return mapped.duplicate();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 章节加载跟踪器（Application Service）
+ * 保证同一时刻只有一个有效的章节加载（后来者优先）：
+ * 新的章节导航会取消进行中的加载（包括底层 HTTP 请求）并取而代之，
+ * 连续快速翻章时只会等待最终目标章节的一次请求
+ * <p>
+ * 相对导航的基准章节在锁内确定：优先取进行中加载的目标，其次取最近一次成功完成的加载，
+ * 最后才读取会话中的当前章节，因此加载完成到会话切换之间到达的导航不会重复加载同一章
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class ChapterLoadTracker {
+
+    /**
+     * 进行中的章节加载，没有时为 null
+     */
+    private Ticket pending;
+
+    /**
+     * 最近一次成功完成的加载（会话可能尚未切换到该章节），没有时为 null
+     */
+    private Ticket completed;
+
+    /**
+     * 获取单例实例
+     */
+    public static ChapterLoadTracker getInstance() {
+        return ApplicationManager.getApplication().getService(ChapterLoadTracker.class);
+    }
+
+    /**
+     * 开始加载指定章节，并取代进行中的加载
+     *
+     * @param commandId    指令 ID
+     * @param bookUrl      书籍 URL
+     * @param chapterIndex 目标章节索引
+     * @return 本次加载的凭证
+     */
+    public Ticket begin(String commandId, String bookUrl, int chapterIndex) {
+        return begin(commandId, bookUrl, () -> chapterIndex, base -> chapterIndex);
+    }
+
+    /**
+     * 开始相对导航（上一章/下一章），并取代进行中的加载
+     * 若同一本书已有进行中的加载，以其目标章节为基准计算新目标，
+     * 因此连续按下一章会累加而不是重复加载同一章
+     *
+     * @param commandId    指令 ID
+     * @param bookUrl      书籍 URL
+     * @param currentIndex 读取会话中的当前章节索引（没有进行中或刚完成的加载时作为基准），在锁内调用
+     * @param target       由基准章节计算目标章节，返回负数表示无法导航（如已是最后一章）
+     * @return 本次加载的凭证，无法导航时返回 null（进行中的加载不受影响）
+     */
+    public Ticket begin(String commandId, String bookUrl, IntSupplier currentIndex, IntUnaryOperator target) {
+        Ticket previous;
+        Ticket ticket;
+        synchronized (this) {
+            previous = pending;
+            int base;
+            if (previous != null && previous.bookUrl().equals(bookUrl)) {
+                base = previous.chapterIndex();
+            } else if (completed != null && completed.bookUrl().equals(bookUrl)) {
+                base = completed.chapterIndex();
+            } else {
+                base = currentIndex.getAsInt();
+            }
+
+            int targetIndex = target.applyAsInt(base);
+            if (targetIndex < 0) {
+                return null;
+            }
+
+            ticket = new Ticket(commandId, bookUrl, targetIndex);
+            pending = ticket;
+        }
+
+        // 在锁外取消：取消会同步执行加载任务上的回调，不能阻塞其他导航
+        if (previous != null) {
+            log.debug("章节加载被取代: {} -> {}", previous.chapterIndex(), ticket.chapterIndex());
+            previous.cancel();
+        }
+        return ticket;
+    }
+
+    /**
+     * 放弃加载（如状态不允许加载），不影响之后导航的基准章节
+     *
+     * @param ticket 加载凭证
+     * @return true 如果该加载仍然有效
+     */
+    public boolean finish(Ticket ticket) {
+        return finish(ticket, false);
+    }
+
+    /**
+     * 结束加载
+     * 只有仍然有效（未被取代或取消）的加载才应该更新会话和发布事件
+     * 成功时记录该加载的目标章节，作为之后相对导航的基准（此时会话可能还未切换到该章节）
+     *
+     * @param ticket    加载凭证
+     * @param succeeded 加载是否成功（失败时会话保持原章节）
+     * @return true 如果该加载仍然有效
+     */
+    public synchronized boolean finish(Ticket ticket, boolean succeeded) {
+        if (pending != ticket) {
+            return false;
+        }
+        pending = null;
+        if (succeeded) {
+            completed = ticket;
+        }
+        return true;
+    }
+
+    /**
+     * 是否有进行中的章节加载
+     */
+    public synchronized boolean isLoading() {
+        return pending != null;
+    }
+
+    /**
+     * 取消进行中的加载（如返回书架）
+     */
+    public void cancelAll() {
+        Ticket previous;
+        synchronized (this) {
+            previous = pending;
+            pending = null;
+            completed = null;
+        }
+        if (previous != null) {
+            log.debug("取消章节加载: {}", previous.chapterIndex());
+            previous.cancel();
+        }
+    }
+
+    /**
+     * 章节加载凭证
+     */
+    public static final class Ticket {
+
+        private final String commandId;
+        private final String bookUrl;
+        private final int chapterIndex;
+        private CompletableFuture<?> future;
+        private boolean cancelled;
+
+        private Ticket(String commandId, String bookUrl, int chapterIndex) {
+            this.commandId = commandId;
+            this.bookUrl = bookUrl;
+            this.chapterIndex = chapterIndex;
+        }
+
+        public String commandId() {
+            return commandId;
+        }
+
+        public String bookUrl() {
+            return bookUrl;
+        }
+
+        public int chapterIndex() {
+            return chapterIndex;
+        }
+
+        /**
+         * 关联加载任务，加载被取代时会取消该任务
+         * 关联前已被取代则立即取消
+         *
+         * @param loading 加载任务
+         */
+        public void track(CompletableFuture<?> loading) {
+            boolean cancelNow;
+            synchronized (this) {
+                future = loading;
+                cancelNow = cancelled;
+            }
+            if (cancelNow) {
+                loading.cancel(true);
+            }
+        }
+
+        private void cancel() {
+            CompletableFuture<?> loading;
+            synchronized (this) {
+                cancelled = true;
+                loading = future;
+            }
+            if (loading != null) {
+                loading.cancel(true);
+            }
+        }
+    }
+}
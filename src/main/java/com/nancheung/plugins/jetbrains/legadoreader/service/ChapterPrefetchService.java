@@ -0,0 +1,249 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.nancheung.plugins.jetbrains.legadoreader.common.FutureUtil;
+import com.nancheung.plugins.jetbrains.legadoreader.common.IReader;
+import com.nancheung.plugins.jetbrains.legadoreader.manager.ReadingSessionManager;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ChapterKey;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ReadingSession;
+import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 章节预加载服务（Application Service）
+ * 当前页超过本章总页数的一定比例（预载进度因子）后，在后台加载后续 N 章
+ * 使切换到下一章时能直接命中缓存
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class ChapterPrefetchService {
+
+    /**
+     * 预载进度因子的取值范围，0 表示章节一打开就预加载，1 表示翻到最后一页时才预加载
+     */
+    public static final float MIN_LOAD_FACTOR = 0f;
+    public static final float MAX_LOAD_FACTOR = 1f;
+
+    /**
+     * 预加载深度上限，避免一次发出大量请求
+     */
+    public static final int MAX_DEPTH = 5;
+
+    /**
+     * 进行中的预加载任务
+     */
+    private final Map<ChapterKey, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 已预加载完成、尚未被阅读的章节
+     */
+    private final Set<ChapterKey> prefetched = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong lateHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
+    /**
+     * 获取单例实例
+     */
+    public static ChapterPrefetchService getInstance() {
+        return ApplicationManager.getApplication().getService(ChapterPrefetchService.class);
+    }
+
+    /**
+     * 页码变化时调用
+     * 当前页（从 0 开始）超过预载进度因子后触发预加载
+     *
+     * @param pageIndex  当前页索引
+     * @param totalPages 本章总页数
+     */
+    public void onPageChanged(int pageIndex, int totalPages) {
+        if (totalPages <= 0) {
+            return;
+        }
+
+        float progress = (pageIndex + 1) / (float) totalPages;
+        if (progress >= loadFactor()) {
+            prefetchAhead();
+        }
+    }
+
+    /**
+     * 章节加载完成时调用
+     * 预载进度因子不大于 0 时，章节一打开就开始预加载
+     */
+    public void onChapterLoaded() {
+        if (loadFactor() <= 0) {
+            prefetchAhead();
+        }
+    }
+
+    /**
+     * 预加载当前章节之后的 N 章（N 为预加载深度）
+     * 已缓存或正在加载的章节不会重复请求
+     */
+    public void prefetchAhead() {
+        ReadingSession session = ReadingSessionManager.getInstance().getSession();
+        int depth = depth();
+        if (session == null || depth <= 0) {
+            return;
+        }
+
+        String bookUrl = session.book().getBookUrl();
+        int totalChapters = session.chapters().size();
+
+        for (int i = 1; i <= depth; i++) {
+            int chapterIndex = session.currentChapterIndex() + i;
+            if (chapterIndex >= totalChapters) {
+                break;
+            }
+            prefetch(new ChapterKey(bookUrl, chapterIndex), ChapterDiskCache.fingerprintOf(session.chapters().get(chapterIndex)));
+        }
+    }
+
+    private void prefetch(ChapterKey key, @Nullable String fingerprint) {
+        if (inFlight.containsKey(key) || prefetched.contains(key) || ChapterContentCache.getInstance().contains(key)) {
+            return;
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, future) != null) {
+            return;
+        }
+
+        issued.incrementAndGet();
+        log.debug("预加载章节: {}", key);
+
+        CompletableFuture<String> load = ChapterContentLoader.getInstance().prefetch(key.bookUrl(), key.chapterIndex(), fingerprint);
+        FutureUtil.propagateCancel(future, load);
+        load.whenComplete((content, throwable) -> {
+            inFlight.remove(key, future);
+            if (throwable == null) {
+                prefetched.add(key);
+                future.complete(content);
+            } else {
+                future.completeExceptionally(throwable);
+                if (!(FutureUtil.unwrap(throwable) instanceof CancellationException)) {
+                    log.debug("预加载章节失败: {}", key, FutureUtil.unwrap(throwable));
+                }
+            }
+        });
+    }
+
+    /**
+     * 只保留目标章节及其后 N 章的预加载，其余的全部取消
+     * 用于跳转章节或切换书籍时
+     *
+     * @param bookUrl      书籍 URL
+     * @param chapterIndex 目标章节索引
+     */
+    public void retainWindow(String bookUrl, int chapterIndex) {
+        int depth = depth();
+        inFlight.forEach((key, future) -> {
+            boolean inWindow = key.bookUrl().equals(bookUrl)
+                    && key.chapterIndex() >= chapterIndex
+                    && key.chapterIndex() <= chapterIndex + depth;
+            if (!inWindow) {
+                cancel(key, future);
+            }
+        });
+        prefetched.removeIf(key -> !key.bookUrl().equals(bookUrl));
+    }
+
+    /**
+     * 取消所有预加载（如返回书架）
+     */
+    public void cancelAll() {
+        inFlight.forEach(this::cancel);
+        prefetched.clear();
+    }
+
+    private void cancel(ChapterKey key, CompletableFuture<String> future) {
+        if (inFlight.remove(key, future) && future.cancel(true)) {
+            cancelled.incrementAndGet();
+            log.debug("取消预加载: {}", key);
+        }
+    }
+
+    /**
+     * 前台请求章节时调用，统计预加载命中率
+     * 若该章节正在预加载，返回进行中的任务供前台复用，避免重复请求
+     * 由 {@link ChapterContentLoader#load(String, int, String)} 调用
+     *
+     * @param key 被请求的章节
+     * @return 进行中的预加载任务，没有时返回 null
+     */
+    CompletableFuture<String> claim(ChapterKey key) {
+        if (prefetched.remove(key)) {
+            hits.incrementAndGet();
+            return null;
+        }
+
+        CompletableFuture<String> pending = inFlight.get(key);
+        if (pending != null) {
+            lateHits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return pending;
+    }
+
+    /**
+     * 获取预加载统计
+     */
+    public PrefetchStats getStats() {
+        return new PrefetchStats(issued.get(), hits.get(), lateHits.get(), misses.get(), cancelled.get());
+    }
+
+    /**
+     * 预载进度因子（限制在 [{@link #MIN_LOAD_FACTOR}, {@link #MAX_LOAD_FACTOR}]，未设置时使用默认值）
+     */
+    private static float loadFactor() {
+        Float factor = PluginSettingsStorage.getInstance().getState().prefetchLoadFactor;
+        if (factor == null || factor.isNaN()) {
+            return IReader.DEFAULT_LOAD_FACTOR;
+        }
+        return Math.max(MIN_LOAD_FACTOR, Math.min(MAX_LOAD_FACTOR, factor));
+    }
+
+    /**
+     * 预加载深度（限制在 [0, {@link #MAX_DEPTH}]，未设置时为 1）
+     */
+    private static int depth() {
+        Integer depth = PluginSettingsStorage.getInstance().getState().prefetchDepth;
+        return depth != null ? Math.max(0, Math.min(MAX_DEPTH, depth)) : 1;
+    }
+
+    /**
+     * 预加载统计快照
+     *
+     * @param issued    发起的预加载数
+     * @param hits      阅读时已预加载完成的章节数
+     * @param lateHits  阅读时预加载仍在进行的章节数
+     * @param misses    阅读时未被预加载的章节数
+     * @param cancelled 被取消的预加载数
+     */
+    public record PrefetchStats(long issued, long hits, long lateHits, long misses, long cancelled) {
+
+        /**
+         * 命中率（只计算已完成的预加载）
+         */
+        public double hitRate() {
+            long total = hits + lateHits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+/**
+ * 按字符数分页
+ * 每页最多 pageSize 个 char，避免在 Unicode 代理对（如 emoji）中间截断
+ *
+ * @param pageSize 每页最大字符数
+ * @author NanCheung
+ */
+public record CharCountPageMeasurer(int pageSize) implements PageMeasurer {
+
+    public CharCountPageMeasurer {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("无效的页面大小: " + pageSize);
+        }
+    }
+
+    @Override
+    public int nextBoundary(String content, int start) {
+        int length = content.length();
+        int end = Math.min(start + pageSize, length);
+
+        // 避免在 Unicode 代理对中间截断
+        // 代理对：高代理（U+D800 到 U+DBFF）+ 低代理（U+DC00 到 U+DFFF）
+        // 例如 emoji "😀" 由两个 char 组成
+        if (end < length && end > 0 && Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--; // 回退一个字符，避免截断 emoji
+        }
+
+        // 确保每页至少推进 1 个字符（pageSize 为 1 且遇到代理对时）
+        return end > start ? end : Math.min(start + 1, length);
+    }
+
+    @Override
+    public int estimatedCharsPerPage() {
+        return pageSize;
+    }
+
+    @Override
+    public String cacheKey() {
+        return "chars:" + pageSize;
+    }
+}
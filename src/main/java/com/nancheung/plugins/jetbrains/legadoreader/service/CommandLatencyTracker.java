@@ -0,0 +1,250 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.nancheung.plugins.jetbrains.legadoreader.command.Command;
+import com.nancheung.plugins.jetbrains.legadoreader.command.CommandType;
+import com.nancheung.plugins.jetbrains.legadoreader.common.LatencyStage;
+import com.nancheung.plugins.jetbrains.legadoreader.event.BookshelfEvent;
+import com.nancheung.plugins.jetbrains.legadoreader.event.ReaderEvent;
+import com.nancheung.plugins.jetbrains.legadoreader.event.ReadingEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 指令延迟统计（Application Service）
+ * 指令分发时打上时间戳，按 commandId 关联它产生的事件，记录从分发到 UI 应用结果的端到端耗时（按指令类型），
+ * 以及各阶段（网络、解析、分页、指令处理、EDT）的耗时，用于分析时间花在哪里
+ * <p>
+ * 使用固定分桶的 {@link LatencyHistogram}，记录开销很小，始终开启
+ * <p>
+ * 进行中的指令在每条退出路径上移除：同步处理完且没有结果要等待的指令在分发结束时移除（{@link #endDispatch}），
+ * 异步处理的指令在结果被 UI 应用或结果被丢弃时移除（{@link #onApplied}、{@link #discard}）；
+ * 另外按插入顺序限制数量，超出上限时以 O(1) 淘汰最早的指令
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class CommandLatencyTracker {
+
+    /**
+     * 进行中指令的数量上限，超出时淘汰最早的指令
+     */
+    private static final int MAX_IN_FLIGHT = 256;
+
+    /**
+     * 进行中的指令（commandId → 分发时间），按插入顺序排列，访问需持有自身的锁
+     */
+    private final LinkedHashMap<String, InFlight> inFlight = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, InFlight> eldest) {
+            return size() > MAX_IN_FLIGHT;
+        }
+    };
+
+    private final Map<CommandType, LatencyHistogram> commandHistograms = new EnumMap<>(CommandType.class);
+    private final Map<LatencyStage, LatencyHistogram> stageHistograms = new EnumMap<>(LatencyStage.class);
+
+    public CommandLatencyTracker() {
+        for (CommandType type : CommandType.values()) {
+            commandHistograms.put(type, new LatencyHistogram());
+        }
+        for (LatencyStage stage : LatencyStage.values()) {
+            stageHistograms.put(stage, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static CommandLatencyTracker getInstance() {
+        return ApplicationManager.getApplication().getService(CommandLatencyTracker.class);
+    }
+
+    /**
+     * 指令分发时调用，记录分发时间（同一指令重复调用时保留最早的时间）
+     *
+     * @param command 指令
+     */
+    public void begin(Command command) {
+        long now = System.nanoTime();
+        synchronized (inFlight) {
+            inFlight.putIfAbsent(command.id(), new InFlight(command.type(), now));
+        }
+    }
+
+    /**
+     * 处理器发起了异步处理，结果事件稍后发布（分发结束时保留该指令）
+     *
+     * @param commandId 指令 ID
+     */
+    public void expectResult(String commandId) {
+        synchronized (inFlight) {
+            InFlight flight = inFlight.get(commandId);
+            if (flight != null) {
+                flight.awaitingResult = true;
+            }
+        }
+    }
+
+    /**
+     * 指令分发结束时调用（无论成功、被拒绝还是抛出异常）
+     * 没有结果要等待的指令（如前置检查未通过）直接移除，不计入统计
+     *
+     * @param command 指令
+     */
+    public void endDispatch(Command command) {
+        synchronized (inFlight) {
+            InFlight flight = inFlight.get(command.id());
+            if (flight != null && !flight.awaitingResult) {
+                inFlight.remove(command.id());
+            }
+        }
+    }
+
+    /**
+     * 指令的结果被丢弃时调用（如加载被新的导航取代、翻页事件被合并），不计入统计
+     *
+     * @param commandId 指令 ID，为 null 时忽略
+     */
+    public void discard(String commandId) {
+        if (commandId == null) {
+            return;
+        }
+        synchronized (inFlight) {
+            inFlight.remove(commandId);
+        }
+    }
+
+    /**
+     * 事件发布时调用，记录指令处理阶段的耗时
+     *
+     * @param event 事件
+     */
+    public void onPublished(ReaderEvent event) {
+        if (event.commandId() == null || !isResult(event)) {
+            return;
+        }
+        long startNanos;
+        synchronized (inFlight) {
+            InFlight flight = inFlight.get(event.commandId());
+            if (flight == null) {
+                return;
+            }
+            // 结果已发布，等待 UI 应用后再移除
+            flight.awaitingResult = true;
+            startNanos = flight.startNanos;
+        }
+        record(LatencyStage.DISPATCH, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * UI 处理完事件后调用，记录 EDT 阶段和指令端到端的耗时
+     * 多个 UI 订阅者处理同一事件时，以第一个完成的为准
+     *
+     * @param event        事件
+     * @param postedNanos  事件提交到 EDT 的时间
+     */
+    public void onApplied(ReaderEvent event, long postedNanos) {
+        long now = System.nanoTime();
+        record(LatencyStage.EDT, now - postedNanos);
+
+        if (event.commandId() == null || !isResult(event)) {
+            return;
+        }
+        InFlight flight;
+        synchronized (inFlight) {
+            flight = inFlight.remove(event.commandId());
+        }
+        if (flight != null) {
+            long elapsed = now - flight.startNanos;
+            commandHistograms.get(flight.type).record(elapsed);
+            log.debug("指令完成: type={}, 耗时 {} ms", flight.type, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /**
+     * 记录阶段耗时
+     *
+     * @param stage 阶段
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(LatencyStage stage, long nanos) {
+        stageHistograms.get(stage).record(nanos);
+    }
+
+    /**
+     * 获取各指令类型的端到端延迟（只包含有记录的类型）
+     *
+     * @return 指令类型 → 统计快照
+     */
+    public Map<CommandType, LatencyHistogram.Snapshot> getCommandStats() {
+        Map<CommandType, LatencyHistogram.Snapshot> stats = new EnumMap<>(CommandType.class);
+        commandHistograms.forEach((type, histogram) -> {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            if (snapshot.count() > 0) {
+                stats.put(type, snapshot);
+            }
+        });
+        return stats;
+    }
+
+    /**
+     * 获取各阶段的延迟
+     *
+     * @return 阶段 → 统计快照
+     */
+    public Map<LatencyStage, LatencyHistogram.Snapshot> getStageStats() {
+        Map<LatencyStage, LatencyHistogram.Snapshot> stats = new EnumMap<>(LatencyStage.class);
+        stageHistograms.forEach((stage, histogram) -> stats.put(stage, histogram.snapshot()));
+        return stats;
+    }
+
+    /**
+     * 是否为指令的结果事件（加载开始等中间事件不算）
+     */
+    private static boolean isResult(ReaderEvent event) {
+        return switch (event) {
+            case ReadingEvent e -> e.type() != ReadingEvent.ReadingEventType.CHAPTER_LOADING;
+            case BookshelfEvent e -> e.type() != BookshelfEvent.BookshelfEventType.LOADING;
+            default -> true;
+        };
+    }
+
+    /**
+     * 获取进行中的指令数
+     */
+    int getInFlightCount() {
+        synchronized (inFlight) {
+            return inFlight.size();
+        }
+    }
+
+    /**
+     * 进行中的指令（访问需持有 inFlight 的锁）
+     */
+    private static final class InFlight {
+
+        private final CommandType type;
+
+        /**
+         * 分发时间
+         */
+        private final long startNanos;
+
+        /**
+         * 是否在等待结果（异步处理中或结果已发布），分发结束时不移除
+         */
+        private boolean awaitingResult;
+
+        InFlight(CommandType type, long startNanos) {
+            this.type = type;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+/**
+ * 按像素宽度分页
+ * 使用字形宽度表逐字累加宽度，在不超过像素预算的前提下尽量填满一页，
+ * 中文（全角）和英文（半角）混排时也不会浪费空间或超出屏幕
+ * <p>
+ * 宽度表由调用方提供（见 EditorGlyphWidthCache），测量只需查表
+ *
+ * @author NanCheung
+ */
+public final class GlyphWidthPageMeasurer implements PageMeasurer {
+
+    private final GlyphWidths widths;
+    private final int budget;
+
+    /**
+     * @param widths      显示正文所用字体的字形宽度表
+     * @param pixelBudget 每页可用的像素宽度
+     */
+    public GlyphWidthPageMeasurer(GlyphWidths widths, int pixelBudget) {
+        this.widths = widths;
+        // 至少能放下一个全角字符，保证每页都能推进
+        this.budget = Math.max(pixelBudget, widths.width('中'));
+    }
+
+    @Override
+    public int nextBoundary(String content, int start) {
+        int length = content.length();
+        int used = 0;
+        int end = start;
+
+        while (end < length) {
+            int codePoint = content.codePointAt(end);
+            int width = widths.width(codePoint);
+            if (used + width > budget && end > start) {
+                break;
+            }
+            used += width;
+            end += Character.charCount(codePoint);
+        }
+
+        return end;
+    }
+
+    @Override
+    public int estimatedCharsPerPage() {
+        // 按全角字符估算（网文以中文为主）
+        return Math.max(1, budget / Math.max(1, widths.width('中')));
+    }
+
+    @Override
+    public String cacheKey() {
+        return "font:" + widths.cacheKey() + "@" + budget;
+    }
+
+    /**
+     * 每页可用的像素宽度
+     */
+    public int getPixelBudget() {
+        return budget;
+    }
+}
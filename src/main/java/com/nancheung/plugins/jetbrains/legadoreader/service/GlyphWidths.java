@@ -0,0 +1,42 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+/**
+ * 字形宽度表
+ * 给出某个字体（含回退字体）在某个渲染上下文下每个字符的像素宽度，供 {@link GlyphWidthPageMeasurer} 按像素分页
+ * 实现必须线程安全
+ *
+ * @author NanCheung
+ */
+public interface GlyphWidths {
+
+    /**
+     * 字符的像素宽度
+     *
+     * @param codePoint Unicode 码点
+     * @return 像素宽度（不小于 0）
+     */
+    int width(int codePoint);
+
+    /**
+     * 字体和渲染参数的标识，两个宽度表的标识相同时，对同一字符必须给出相同的宽度
+     *
+     * @return 标识（如 "JetBrains Mono:2:13.0:aa"）
+     */
+    String cacheKey();
+
+    /**
+     * 一段文本的像素宽度
+     *
+     * @param text 文本
+     * @return 各字符宽度之和
+     */
+    default int width(String text) {
+        int total = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            total += width(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return total;
+    }
+}
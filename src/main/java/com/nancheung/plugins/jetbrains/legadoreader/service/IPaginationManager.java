@@ -2,6 +2,8 @@ package com.nancheung.plugins.jetbrains.legadoreader.service;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.CharBuffer;
+
 /**
  * 分页管理器接口
  * 抽象分页行为，支持不同阅读模式
@@ -18,6 +20,14 @@ public interface IPaginationManager {
      */
     void paginate(String content, int pageSize);
 
+    /**
+     * 使用指定的度量策略初始化分页（重新分页）
+     *
+     * @param content  章节内容
+     * @param measurer 分页度量策略（如按像素宽度）
+     */
+    void paginate(String content, PageMeasurer measurer);
+
     /**
      * 获取当前页
      *
@@ -80,18 +90,32 @@ public interface IPaginationManager {
 
     /**
      * 页数据（不可变）
+     * 只记录在章节中的起止位置，页面文本是章节内容上的只读视图，不复制字符
      *
      * @param pageIndex 页码索引（从 0 开始）
      * @param startPos  在完整内容中的起始位置
      * @param endPos    在完整内容中的结束位置
-     * @param content   当前页的文本内容
+     * @param content   当前页的文本内容（章节内容的视图）
      */
     record PageData(
             int pageIndex,
             int startPos,
             int endPos,
-            String content
+            CharSequence content
     ) {
+        /**
+         * 以章节内容的视图创建页数据
+         *
+         * @param pageIndex 页码索引
+         * @param source    章节内容
+         * @param startPos  起始位置
+         * @param endPos    结束位置
+         * @return 页数据
+         */
+        public static PageData view(int pageIndex, String source, int startPos, int endPos) {
+            return new PageData(pageIndex, startPos, endPos, CharBuffer.wrap(source, startPos, endPos));
+        }
+
         /**
          * 格式化为显示文本
          * 格式："   页码/总页数  内容..."
@@ -0,0 +1,115 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 固定分桶的延迟直方图
+ * 桶边界按 1-2-5 序列从 50 微秒到 30 秒，记录一次只需几次原子自增，不分配对象；
+ * 分位数取所在桶的上边界，精度足以判断时间花在哪里
+ * 线程安全
+ *
+ * @author NanCheung
+ */
+public final class LatencyHistogram {
+
+    /**
+     * 各桶的上边界（微秒），最后一个桶收纳超出范围的值
+     */
+    private static final long[] UPPER_BOUNDS_MICROS = {
+            50, 100, 200, 500,
+            1_000, 2_000, 5_000,
+            10_000, 20_000, 50_000,
+            100_000, 200_000, 500_000,
+            1_000_000, 2_000_000, 5_000_000,
+            10_000_000, 30_000_000,
+            Long.MAX_VALUE
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(UPPER_BOUNDS_MICROS.length);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒），负数按 0 处理
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+
+        int index = 0;
+        while (micros > UPPER_BOUNDS_MICROS[index]) {
+            index++;
+        }
+
+        buckets.incrementAndGet(index);
+        count.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * 获取统计快照
+     *
+     * @return 统计信息快照
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        long max = maxMicros.get();
+        return new Snapshot(
+                total,
+                total == 0 ? 0 : totalMicros.get() / total,
+                percentile(counts, total, 0.50, max),
+                percentile(counts, total, 0.95, max),
+                percentile(counts, total, 0.99, max),
+                max
+        );
+    }
+
+    /**
+     * 分位数所在桶的上边界（不超过最大值）
+     */
+    private static long percentile(long[] counts, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(UPPER_BOUNDS_MICROS[i], max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 延迟统计快照（不可变），时间单位均为微秒
+     *
+     * @param count      记录次数
+     * @param meanMicros 平均值
+     * @param p50Micros  P50（所在桶的上边界）
+     * @param p95Micros  P95（所在桶的上边界）
+     * @param p99Micros  P99（所在桶的上边界）
+     * @param maxMicros  最大值
+     */
+    public record Snapshot(
+            long count,
+            long meanMicros,
+            long p50Micros,
+            long p95Micros,
+            long p99Micros,
+            long maxMicros
+    ) {
+    }
+}
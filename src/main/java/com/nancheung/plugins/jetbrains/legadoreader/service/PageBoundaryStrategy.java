@@ -0,0 +1,25 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+/**
+ * 页边界调整策略
+ * {@link PageMeasurer} 给出一页最多能容纳到的位置，策略在此之前选择更合适的断页点（如标点之后）
+ *
+ * @author NanCheung
+ */
+public interface PageBoundaryStrategy {
+
+    /**
+     * 不做调整，直接使用度量结果（度量策略本身已保证不截断代理对）
+     */
+    PageBoundaryStrategy NONE = (content, start, maxEnd) -> maxEnd;
+
+    /**
+     * 选择页结束位置
+     *
+     * @param content 章节内容
+     * @param start   页起始位置
+     * @param maxEnd  度量得到的最大结束位置（不包含），大于 start
+     * @return 实际结束位置，范围 (start, content.length()]
+     */
+    int adjust(String content, int start, int maxEnd);
+}
@@ -0,0 +1,35 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+/**
+ * 分页度量策略
+ * 决定一页能容纳多少文本，供 {@link PaginationManager} 逐页计算页边界
+ *
+ * @author NanCheung
+ */
+public interface PageMeasurer {
+
+    /**
+     * 计算从 start 开始的一页的结束位置
+     * 实现必须至少推进一个字符，且不能在 Unicode 代理对中间截断
+     *
+     * @param content 章节内容
+     * @param start   页起始位置（小于 content.length()）
+     * @return 页结束位置（不包含），大于 start
+     */
+    int nextBoundary(String content, int start);
+
+    /**
+     * 每页的估算字符数，用于估算尚未计算的页数
+     *
+     * @return 大于 0 的字符数
+     */
+    int estimatedCharsPerPage();
+
+    /**
+     * 度量参数的标识，用作分页结果缓存键的一部分
+     * 两个度量策略的标识相同时，对同一内容必须得到相同的页边界
+     *
+     * @return 度量参数标识（如 "chars:30"）
+     */
+    String cacheKey();
+}
@@ -2,18 +2,28 @@ package com.nancheung.plugins.jetbrains.legadoreader.service;
 
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.Service;
+import com.nancheung.plugins.jetbrains.legadoreader.common.LatencyStage;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ChapterKey;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 统一分页管理器（Application Service）
  * 供所有阅读模式共享使用
  * 线程安全，使用 AtomicReference 管理状态
+ * <p>
+ * 分页是增量进行的：只在阅读推进到某一页时才计算该页的边界，并缓存已计算的边界，
+ * 因此无论章节多长，显示第一页都是常数时间。每页容纳多少文本由 {@link PageMeasurer} 决定，
+ * 在哪里断页由 {@link PageBoundaryStrategy} 决定（默认尽量在标点处断页）
+ * <p>
+ * 相邻章节已在缓存中时，翻过章节边界只是一次普通的翻页（见 {@link #crossToNextChapter()}）
+ * <p>
+ * 最近的分页结果按章节、内容哈希和度量参数缓存，回到刚读过的章节或在阅读模式间切换时直接复用已计算的页边界
  *
  * @author NanCheung
  */
@@ -26,15 +36,25 @@ public final class PaginationManager implements IPaginationManager {
      */
     private static final int DEFAULT_PAGE_SIZE = 30;
 
+    /**
+     * 缓存的分页结果数量上限
+     */
+    private static final int MAX_CACHED_LAYOUTS = 8;
+
     /**
      * 当前页
      */
     private final AtomicReference<PageData> currentPage = new AtomicReference<>();
 
     /**
-     * 所有页数据（不可变列表）
+     * 分页结果（源内容 + 已计算的页边界）
+     */
+    private final AtomicReference<Layout> layout = new AtomicReference<>(Layout.EMPTY);
+
+    /**
+     * 当前分页的章节（未知时为 null）
      */
-    private final AtomicReference<List<PageData>> pages = new AtomicReference<>(Collections.emptyList());
+    private volatile ChapterKey chapter;
 
     /**
      * 源内容
@@ -42,9 +62,24 @@ public final class PaginationManager implements IPaginationManager {
     private volatile String sourceContent;
 
     /**
-     * 每页大小
+     * 分页度量策略
      */
-    private volatile int pageSize = DEFAULT_PAGE_SIZE;
+    private volatile PageMeasurer measurer = new CharCountPageMeasurer(DEFAULT_PAGE_SIZE);
+
+    /**
+     * 页边界调整策略
+     */
+    private volatile PageBoundaryStrategy boundaryStrategy = PunctuationBoundaryStrategy.DEFAULT;
+
+    /**
+     * 最近的分页结果（LRU，访问需持有自身的锁）
+     */
+    private final LinkedHashMap<LayoutKey, Layout> layoutCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LayoutKey, Layout> eldest) {
+            return size() > MAX_CACHED_LAYOUTS;
+        }
+    };
 
     /**
      * 获取单例实例
@@ -55,25 +90,120 @@ public final class PaginationManager implements IPaginationManager {
 
     @Override
     public void paginate(String content, int pageSize) {
+        if (pageSize <= 0) {
+            log.warn("无效的页面大小: {}, 使用默认值 {}", pageSize, DEFAULT_PAGE_SIZE);
+            pageSize = DEFAULT_PAGE_SIZE;
+        }
+        paginate(content, new CharCountPageMeasurer(pageSize));
+    }
+
+    @Override
+    public void paginate(String content, PageMeasurer measurer) {
+        paginate(null, content, measurer);
+    }
+
+    /**
+     * 初始化指定章节的分页（重新分页）
+     * 记录章节身份，用于跨章翻页和判断章节是否已经分页
+     *
+     * @param chapter  章节（未知时为 null）
+     * @param content  章节内容
+     * @param measurer 分页度量策略
+     */
+    public void paginate(@Nullable ChapterKey chapter, String content, PageMeasurer measurer) {
+        long start = System.nanoTime();
+        this.chapter = chapter;
         this.sourceContent = content;
-        this.pageSize = pageSize;
+        this.measurer = measurer;
 
         if (content == null || content.isEmpty()) {
-            pages.set(Collections.emptyList());
+            layout.set(Layout.EMPTY);
             currentPage.set(null);
             log.debug("分页完成：内容为空");
             return;
         }
 
-        List<PageData> newPages = splitIntoPages(content, pageSize);
-        pages.set(Collections.unmodifiableList(newPages));
+        // 命中缓存时复用已计算的页边界，否则只计算第一页，其余页在翻到时再计算
+        Layout newLayout = layoutFor(chapter, content, measurer);
+        layout.set(newLayout);
 
         // 默认定位到第一页
-        if (!newPages.isEmpty()) {
-            currentPage.set(newPages.get(0));
+        currentPage.set(newLayout.page(0));
+        CommandLatencyTracker.getInstance().record(LatencyStage.PAGINATION, System.nanoTime() - start);
+
+        log.info("分页完成，预计共 {} 页", newLayout.pageCount());
+    }
+
+    /**
+     * 获取当前分页的章节
+     *
+     * @return 章节，未知时返回 null
+     */
+    @Nullable
+    public ChapterKey getCurrentChapter() {
+        return chapter;
+    }
+
+    /**
+     * 获取当前分页的章节索引
+     *
+     * @return 章节索引，未知时返回 -1
+     */
+    public int getCurrentChapterIndex() {
+        ChapterKey current = chapter;
+        return current != null ? current.chapterIndex() : -1;
+    }
+
+    /**
+     * 获取在指定章节中的阅读位置
+     * 跨章翻页后章节加载完成时，以已翻到的页（如上一章的最后一页）的起始位置作为阅读进度
+     *
+     * @param target 章节
+     * @return 当前页的起始字符位置，当前分页不是该章节时返回 0
+     */
+    public int getPositionIn(ChapterKey target) {
+        PageData page = currentPage.get();
+        return page != null && target.equals(chapter) ? Math.max(page.startPos(), 0) : 0;
+    }
+
+    /**
+     * 跨章翻页：直接翻到下一章的第一页
+     * 只在下一章内容已在内存缓存中（如已预加载）时生效，章节切换由调用方在后台完成
+     *
+     * @return 下一章的第一页，下一章尚未缓存时返回 null
+     */
+    @Nullable
+    public PageData crossToNextChapter() {
+        return crossTo(1) ? getCurrentPage() : null;
+    }
+
+    /**
+     * 跨章翻页：直接翻到上一章的最后一页
+     * 只在上一章内容已在内存缓存中时生效，章节切换由调用方在后台完成
+     *
+     * @return 上一章的最后一页，上一章尚未缓存时返回 null
+     */
+    @Nullable
+    public PageData crossToPreviousChapter() {
+        return crossTo(-1) ? goToLastPage() : null;
+    }
+
+    private boolean crossTo(int step) {
+        ChapterKey current = chapter;
+        if (current == null || current.chapterIndex() + step < 0) {
+            return false;
+        }
+
+        ChapterKey target = new ChapterKey(current.bookUrl(), current.chapterIndex() + step);
+        // 随后的章节加载会通过 get 计入命中，这里只查看
+        String content = ChapterContentCache.getInstance().peek(target);
+        if (content == null || content.isEmpty()) {
+            return false;
         }
 
-        log.info("分页完成，共 {} 页", newPages.size());
+        paginate(target, content, measurer);
+        log.debug("跨章翻页: {} -> {}", current.chapterIndex(), target.chapterIndex());
+        return true;
     }
 
     @Override
@@ -86,21 +216,21 @@ public final class PaginationManager implements IPaginationManager {
     @Nullable
     public PageData nextPage() {
         PageData current = currentPage.get();
-        List<PageData> pageList = pages.get();
+        Layout pageLayout = layout.get();
 
-        if (current == null || pageList.isEmpty()) {
+        if (current == null || pageLayout.isEmpty()) {
             return null;
         }
 
         int nextIndex = current.pageIndex() + 1;
-        if (nextIndex >= pageList.size()) {
+        PageData next = pageLayout.page(nextIndex);
+        if (next == null) {
             log.debug("已经是最后一页");
             return null; // 已是最后一页
         }
 
-        PageData next = pageList.get(nextIndex);
         currentPage.set(next);
-        log.debug("翻到下一页: {}/{}", nextIndex + 1, pageList.size());
+        log.debug("翻到下一页: {}/{}", nextIndex + 1, pageLayout.pageCount());
         return next;
     }
 
@@ -108,9 +238,9 @@ public final class PaginationManager implements IPaginationManager {
     @Nullable
     public PageData previousPage() {
         PageData current = currentPage.get();
-        List<PageData> pageList = pages.get();
+        Layout pageLayout = layout.get();
 
-        if (current == null || pageList.isEmpty()) {
+        if (current == null || pageLayout.isEmpty()) {
             return null;
         }
 
@@ -120,31 +250,43 @@ public final class PaginationManager implements IPaginationManager {
             return null; // 已是第一页
         }
 
-        PageData prev = pageList.get(prevIndex);
+        PageData prev = pageLayout.page(prevIndex);
         currentPage.set(prev);
-        log.debug("翻到上一页: {}/{}", prevIndex + 1, pageList.size());
+        log.debug("翻到上一页: {}/{}", prevIndex + 1, pageLayout.pageCount());
         return prev;
     }
 
     @Override
     @Nullable
     public PageData goToPage(int pageIndex) {
-        List<PageData> pageList = pages.get();
+        Layout pageLayout = layout.get();
+        PageData target = pageIndex >= 0 ? pageLayout.page(pageIndex) : null;
 
-        if (pageList.isEmpty() || pageIndex < 0 || pageIndex >= pageList.size()) {
+        if (target == null) {
             log.warn("无效的页码索引: {}", pageIndex);
             return null;
         }
 
-        PageData target = pageList.get(pageIndex);
         currentPage.set(target);
-        log.debug("跳转到第 {} 页/{}", pageIndex + 1, pageList.size());
+        log.debug("跳转到第 {} 页/{}", pageIndex + 1, pageLayout.pageCount());
         return target;
     }
 
+    /**
+     * 获取总页数
+     * 章节尚未完全分页时返回估算值（已计算的页数 + 剩余字符按每页大小估算），翻页过程中会逐渐精确
+     *
+     * @return 总页数
+     */
     @Override
     public int getTotalPages() {
-        return pages.get().size();
+        return layout.get().pageCount();
+    }
+
+    @Override
+    public boolean isLastPage() {
+        PageData current = currentPage.get();
+        return current != null && current.endPos() >= layout.get().source().length();
     }
 
     /**
@@ -159,88 +301,267 @@ public final class PaginationManager implements IPaginationManager {
 
     /**
      * 定位到最后一页
+     * 页边界依赖前面的页，因此需要向后计算完剩余的页（已计算的部分不会重复计算）
      *
      * @return 最后一页数据，如果没有页则返回 null
      */
     @Nullable
     public PageData goToLastPage() {
-        int totalPages = getTotalPages();
-        return totalPages > 0 ? goToPage(totalPages - 1) : null;
+        Layout pageLayout = layout.get();
+        if (pageLayout.isEmpty()) {
+            return null;
+        }
+
+        PageData last = pageLayout.lastPage();
+        currentPage.set(last);
+        log.debug("跳转到最后一页: {}", last.pageIndex() + 1);
+        return last;
+    }
+
+    /**
+     * 定位到包含指定字符位置的页（如恢复阅读进度）
+     *
+     * @param offset 章节内的字符位置
+     * @return 目标页数据，如果没有页则返回 null
+     */
+    @Nullable
+    public PageData goToOffset(int offset) {
+        PageData target = layout.get().pageContaining(offset);
+        if (target != null) {
+            currentPage.set(target);
+            log.debug("定位到字符位置 {}：第 {} 页", offset, target.pageIndex() + 1);
+        }
+        return target;
+    }
+
+    /**
+     * 使用新的度量策略重新分页，并停留在原来阅读的位置
+     * 以当前页的起始字符为锚点：只计算到锚点为止的页边界并定位，之后的页仍按需计算
+     * 用于字体、页面大小等设置变更
+     *
+     * @param measurer 新的分页度量策略
+     * @return 包含锚点的新当前页，没有内容时返回 null
+     */
+    @Nullable
+    public PageData repaginate(PageMeasurer measurer) {
+        String content = sourceContent;
+        PageData current = currentPage.get();
+        int anchor = current != null ? current.startPos() : 0;
+
+        this.measurer = measurer;
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        Layout newLayout = layoutFor(chapter, content, measurer);
+        PageData target = newLayout.pageContaining(anchor);
+        layout.set(newLayout);
+        currentPage.set(target);
+        CommandLatencyTracker.getInstance().record(LatencyStage.PAGINATION, System.nanoTime() - start);
+
+        log.info("重新分页完成，停留在第 {} 页（锚点 {}）", target != null ? target.pageIndex() + 1 : 0, anchor);
+        return target;
+    }
+
+    /**
+     * 设置页边界调整策略，下次分页时生效
+     *
+     * @param strategy 页边界调整策略（如 {@link PageBoundaryStrategy#NONE} 表示严格按度量结果断页）
+     */
+    public void setBoundaryStrategy(PageBoundaryStrategy strategy) {
+        this.boundaryStrategy = strategy;
     }
 
     /**
      * 获取当前每页大小
+     * 按像素宽度分页时为估算值
      *
      * @return 每页字符数
      */
     public int getPageSize() {
-        return pageSize;
+        return measurer.estimatedCharsPerPage();
     }
 
     /**
-     * 设置每页大小并重新分页
+     * 设置每页大小（按字符数分页）并重新分页，停留在原来阅读的位置
      *
      * @param pageSize 每页字符数
      */
     public void setPageSize(int pageSize) {
-        this.pageSize = pageSize;
-        if (sourceContent != null && !sourceContent.isEmpty()) {
-            paginate(sourceContent, pageSize);
+        if (pageSize <= 0) {
+            log.warn("无效的页面大小: {}", pageSize);
+            return;
         }
+        repaginate(new CharCountPageMeasurer(pageSize));
     }
 
     /**
      * 清空分页数据
      */
     public void clear() {
-        pages.set(Collections.emptyList());
+        layout.set(Layout.EMPTY);
         currentPage.set(null);
+        chapter = null;
         sourceContent = null;
         log.debug("清空分页数据");
     }
 
     /**
-     * 将内容分割为页
-     * 智能处理 Unicode 代理对（如 emoji），避免在字符中间截断
+     * 获取内容的分页结果，优先复用缓存
+     * 缓存的分页结果仍是增量的，此后翻到的新页边界会继续补充到缓存中
+     */
+    private Layout layoutFor(@Nullable ChapterKey chapter, String content, PageMeasurer measurer) {
+        PageBoundaryStrategy strategy = boundaryStrategy;
+        LayoutKey key = new LayoutKey(chapter, content.hashCode(), content.length(), measurer.cacheKey(), strategy);
+
+        synchronized (layoutCache) {
+            Layout cached = layoutCache.get(key);
+            if (cached != null && cached.source().equals(content)) {
+                log.debug("复用分页结果: {}", chapter);
+                return cached;
+            }
+
+            Layout created = new Layout(content, measurer, strategy);
+            layoutCache.put(key, created);
+            return created;
+        }
+    }
+
+    /**
+     * 分页结果缓存键
      *
-     * @param content    完整内容
-     * @param maxLength  每页最大字符数
-     * @return 页数据列表
+     * @param chapter       章节（未知时为 null）
+     * @param contentHash   内容哈希
+     * @param contentLength 内容长度
+     * @param measurerKey   度量参数标识
+     * @param strategy      页边界调整策略
      */
-    private List<PageData> splitIntoPages(String content, int maxLength) {
-        // 添加参数验证
-        if (maxLength <= 0) {
-            log.warn("无效的页面大小: {}, 使用默认值 30", maxLength);
-            maxLength = 30;
+    private record LayoutKey(
+            @Nullable ChapterKey chapter,
+            int contentHash,
+            int contentLength,
+            String measurerKey,
+            PageBoundaryStrategy strategy
+    ) {
+    }
+
+    /**
+     * 增量分页结果
+     * 页边界按需向后计算并缓存；第 i 页为 [offsets[i], offsets[i + 1])
+     * 页数据在访问时按需创建，不复制页面文本
+     * 线程安全（包可见，便于单元测试）
+     */
+    static final class Layout {
+
+        static final Layout EMPTY = new Layout("", new CharCountPageMeasurer(DEFAULT_PAGE_SIZE), PageBoundaryStrategy.NONE);
+
+        private final String source;
+        private final PageMeasurer measurer;
+        private final PageBoundaryStrategy strategy;
+
+        /**
+         * 已计算的页边界
+         */
+        private int[] offsets = new int[16];
+
+        /**
+         * 已计算的页边界数量（已计算的页数 + 1）
+         */
+        private int boundaryCount = 1;
+
+        /**
+         * 是否已计算到章节末尾
+         */
+        private boolean complete;
+
+        Layout(String source, PageMeasurer measurer, PageBoundaryStrategy strategy) {
+            this.source = source;
+            this.measurer = measurer;
+            this.strategy = strategy;
+            this.complete = source.isEmpty();
+        }
+
+        String source() {
+            return source;
+        }
+
+        boolean isEmpty() {
+            return source.isEmpty();
         }
 
-        List<PageData> result = new ArrayList<>();
-        int start = 0;
-        int pageIndex = 0;
+        /**
+         * 总页数，未计算完时为估算值
+         */
+        synchronized int pageCount() {
+            int known = boundaryCount - 1;
+            if (complete) {
+                return known;
+            }
+            int remaining = source.length() - offsets[boundaryCount - 1];
+            int perPage = measurer.estimatedCharsPerPage();
+            return known + (remaining + perPage - 1) / perPage;
+        }
 
-        while (start < content.length()) {
-            int end = Math.min(start + maxLength, content.length());
+        /**
+         * 获取指定页，必要时向后计算页边界
+         *
+         * @return 页数据，超出章节范围时返回 null
+         */
+        synchronized PageData page(int pageIndex) {
+            if (!ensure(pageIndex)) {
+                return null;
+            }
+            return PageData.view(pageIndex, source, offsets[pageIndex], offsets[pageIndex + 1]);
+        }
 
-            // 避免在 Unicode 代理对中间截断
-            // 代理对：高代理（U+D800 到 U+DBFF）+ 低代理（U+DC00 到 U+DFFF）
-            // 例如 emoji "😀" 由两个 char 组成
-            if (end < content.length() && end > 0 && Character.isHighSurrogate(content.charAt(end - 1))) {
-                end--; // 回退一个字符，避免截断 emoji
+        /**
+         * 获取包含指定字符位置的页
+         * 只计算到该位置为止的页边界，再在已知边界上二分查找
+         *
+         * @param offset 字符位置（超出范围时取最近的有效位置）
+         * @return 页数据，内容为空时返回 null
+         */
+        synchronized PageData pageContaining(int offset) {
+            if (isEmpty()) {
+                return null;
             }
 
-            // 防止无限循环：确保每次循环都推进至少 1 个字符
-            if (end <= start) {
-                log.warn("分页异常：end({}) <= start({}), 强制推进", end, start);
-                end = Math.min(start + 1, content.length());
+            int target = Math.max(0, Math.min(offset, source.length() - 1));
+            while (!complete && offsets[boundaryCount - 1] <= target) {
+                ensure(boundaryCount - 1);
             }
 
-            String pageContent = content.substring(start, end);
-            result.add(new PageData(pageIndex, start, end, pageContent));
+            int index = Arrays.binarySearch(offsets, 0, boundaryCount, target);
+            int pageIndex = index >= 0 ? index : -index - 2;
+            return page(Math.min(pageIndex, boundaryCount - 2));
+        }
 
-            start = end;
-            pageIndex++;
+        /**
+         * 计算完所有页并返回最后一页
+         */
+        synchronized PageData lastPage() {
+            ensure(Integer.MAX_VALUE - 1);
+            return page(boundaryCount - 2);
         }
 
-        return result;
+        /**
+         * 向后计算页边界，直到第 pageIndex 页已知或到达章节末尾
+         *
+         * @return true 如果第 pageIndex 页存在
+         */
+        private boolean ensure(int pageIndex) {
+            while (boundaryCount <= pageIndex + 1 && !complete) {
+                int start = offsets[boundaryCount - 1];
+                int end = strategy.adjust(source, start, measurer.nextBoundary(source, start));
+
+                if (boundaryCount == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[boundaryCount++] = end;
+                complete = end >= source.length();
+            }
+            return boundaryCount > pageIndex + 1;
+        }
     }
 }
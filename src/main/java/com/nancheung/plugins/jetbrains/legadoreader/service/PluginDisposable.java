@@ -0,0 +1,28 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+
+/**
+ * 插件级的 Disposable（Application Service）
+ * 作为应用级对象（如行内阅读服务的事件订阅）的父 Disposable，插件卸载或 IDE 关闭时一并释放，
+ * 避免直接使用 Application 作为父对象导致插件无法动态卸载
+ *
+ * @author NanCheung
+ */
+@Service
+public final class PluginDisposable implements Disposable {
+
+    /**
+     * 获取单例实例
+     */
+    public static PluginDisposable getInstance() {
+        return ApplicationManager.getApplication().getService(PluginDisposable.class);
+    }
+
+    @Override
+    public void dispose() {
+        // 子对象由 Disposer 释放
+    }
+}
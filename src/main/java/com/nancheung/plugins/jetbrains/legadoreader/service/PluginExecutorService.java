@@ -0,0 +1,125 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 插件后台任务执行服务（Application Service）
+ * 插件的所有后台任务（异步指令、异步事件、网络请求回调等）都在这里执行，
+ * 避免占用 JVM 全局共享的 ForkJoinPool.commonPool()，网络阻塞不会拖慢 IDE 自身的并行任务
+ * <p>
+ * 默认每个任务一个虚拟线程；设置系统属性 {@value #VIRTUAL_THREADS_PROPERTY}=false
+ * 时改用有界的平台线程池。随插件卸载一并关闭
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class PluginExecutorService implements Disposable {
+
+    /**
+     * 是否使用虚拟线程的系统属性
+     */
+    public static final String VIRTUAL_THREADS_PROPERTY = "legado.reader.virtualThreads";
+
+    private static final String THREAD_NAME_PREFIX = "LegadoReader-";
+
+    private final ExecutorService executor;
+
+    /**
+     * 获取单例实例
+     */
+    public static PluginExecutorService getInstance() {
+        return ApplicationManager.getApplication().getService(PluginExecutorService.class);
+    }
+
+    /**
+     * 构造函数（由 IntelliJ Platform 调用）
+     */
+    public PluginExecutorService() {
+        if (Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true"))) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory());
+            log.info("PluginExecutorService 已初始化: 虚拟线程");
+        } else {
+            int threads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new DaemonThreadFactory());
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+            log.info("PluginExecutorService 已初始化: 平台线程池, threads={}", threads);
+        }
+    }
+
+    /**
+     * 获取执行器（用于 CompletableFuture 的 *Async 方法、HttpClient 等）
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * 在后台执行任务
+     *
+     * @param task 任务
+     * @return 任务完成的 Future
+     */
+    public CompletableFuture<Void> runAsync(Runnable task) {
+        return CompletableFuture.runAsync(task, executor);
+    }
+
+    /**
+     * 在后台执行有返回值的任务
+     *
+     * @param task 任务
+     * @return 任务结果的 Future
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * 关闭执行器（由 IntelliJ Platform 在应用关闭或插件卸载时自动调用）
+     */
+    @Override
+    public void dispose() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                log.warn("后台任务在 2 秒内未能结束，强制关闭");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("PluginExecutorService 已关闭");
+    }
+
+    /**
+     * 平台线程池的线程工厂（守护线程，统一命名便于排查）
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, THREAD_NAME_PREFIX + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
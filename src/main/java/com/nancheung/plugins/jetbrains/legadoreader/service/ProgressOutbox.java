@@ -0,0 +1,387 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import cn.hutool.json.JSONUtil;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.Service;
+import com.nancheung.plugins.jetbrains.legadoreader.api.ApiUtil;
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookProgressDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.common.FutureUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 阅读进度发件箱（Application Service）
+ * 进度先追加写入本地日志文件，再按时间顺序发送到服务器；服务器不可达时保留在日志中，稍后重试
+ * 同一本书只保留最新的一条进度，因此离线阅读一段时间后恢复连接也只会发送最终位置
+ * <p>
+ * 从日志恢复的进度和发送失败过的进度在重新发送前先查询书架：
+ * 服务器上该书的 durChapterTime 更新（如离线期间在手机上继续阅读过）时放弃本地进度，不覆盖服务器
+ * <p>
+ * 日志位于 IDE system 目录下，每行一条 JSON，发送成功后压缩重写；
+ * 日志读写都在插件后台线程执行，调用线程（可能是 EDT）不做文件 I/O
+ * <p>
+ * 同一时间只有一条发送链：发送失败后只安排一次延迟重试（指数退避），
+ * 等待重试期间新写入的进度只追加到日志，由这次重试一并发送
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class ProgressOutbox implements Disposable {
+
+    private static final long MIN_RETRY_MILLIS = 15_000;
+    private static final long MAX_RETRY_MILLIS = 5 * 60_000;
+
+    /**
+     * 日志文件
+     */
+    private final Path journal;
+
+    /**
+     * 日志读写所在的执行器
+     */
+    private final Executor ioExecutor;
+
+    /**
+     * 发送一条进度到服务器
+     */
+    private final Function<BookProgressDTO, CompletableFuture<?>> sender;
+
+    /**
+     * 获取服务器上的书架（含每本书的 durChapterTime）
+     */
+    private final Supplier<CompletableFuture<List<BookDTO>>> bookshelf;
+
+    /**
+     * 待发送的进度（已压缩，每本书一条），key 为书籍 URL
+     */
+    private final Map<String, BookProgressDTO> pending = new LinkedHashMap<>();
+
+    /**
+     * 发送前需要先与服务器比较的书籍 URL（进度来自日志恢复或发送失败过）
+     */
+    private final Set<String> unconfirmed = new HashSet<>();
+
+    private boolean loaded;
+    private boolean draining;
+    private boolean retryScheduled;
+    private boolean disposed;
+    private long retryMillis = MIN_RETRY_MILLIS;
+
+    /**
+     * 获取单例实例
+     */
+    public static ProgressOutbox getInstance() {
+        return ApplicationManager.getApplication().getService(ProgressOutbox.class);
+    }
+
+    /**
+     * 构造函数（由 IntelliJ Platform 调用）
+     */
+    public ProgressOutbox() {
+        this(Path.of(PathManager.getSystemPath(), "legado-reader", "progress-outbox.jsonl"),
+                PluginExecutorService.getInstance().executor(), ApiUtil::saveBookProgressAsync, ApiUtil::getBookshelfAsync);
+    }
+
+    /**
+     * 使用指定的日志文件、执行器和服务器接口（测试用）
+     *
+     * @param journal    日志文件
+     * @param ioExecutor 日志读写所在的执行器
+     * @param sender     发送一条进度，返回发送完成的 Future
+     * @param bookshelf  获取服务器上的书架
+     */
+    ProgressOutbox(Path journal, Executor ioExecutor, Function<BookProgressDTO, CompletableFuture<?>> sender,
+                   Supplier<CompletableFuture<List<BookDTO>>> bookshelf) {
+        this.journal = journal;
+        this.ioExecutor = ioExecutor;
+        this.sender = sender;
+        this.bookshelf = bookshelf;
+    }
+
+    /**
+     * 在后台写入一条进度并尝试发送
+     * 正在等待重试时只写入日志，由重试一并发送
+     *
+     * @param progress 阅读进度
+     */
+    public void enqueue(BookProgressDTO progress) {
+        io(() -> {
+            if (store(progress)) {
+                drain();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 在后台只把进度写入日志，不发送（IDE 关闭时使用，下次启动时发送）
+     *
+     * @param progress 阅读进度
+     * @return 写入完成的 Future，结果为 true 表示写入了（比已有的进度新）
+     */
+    public CompletableFuture<Boolean> persist(BookProgressDTO progress) {
+        return io(() -> store(progress));
+    }
+
+    /**
+     * 在后台重新发送上次未成功的进度（插件启动时调用）
+     */
+    public void replayAsync() {
+        io(() -> {
+            synchronized (this) {
+                ensureLoaded();
+            }
+            drain();
+            return null;
+        });
+    }
+
+    /**
+     * 待发送的进度数量（会读取日志，测试用）
+     */
+    synchronized int size() {
+        ensureLoaded();
+        return pending.size();
+    }
+
+    private synchronized boolean store(BookProgressDTO progress) {
+        ensureLoaded();
+        if (!isNewer(progress, pending.get(progress.getUrl()))) {
+            log.debug("忽略过期的阅读进度: {}", progress.getName());
+            return false;
+        }
+        pending.put(progress.getUrl(), progress);
+        // 刚在本机产生的进度就是用户最新的阅读位置，无需再与服务器比较
+        unconfirmed.remove(progress.getUrl());
+        append(progress);
+        return true;
+    }
+
+    /**
+     * 在日志执行器中执行任务
+     * 执行器已关闭（IDE 关闭阶段）时在调用线程执行，保证进度写入日志
+     */
+    private <T> CompletableFuture<T> io(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, ioExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+    }
+
+    /**
+     * 按 durChapterTime 顺序逐条发送，失败时停止并安排重试
+     * 正在发送或等待重试时直接返回，保证只有一条发送链
+     */
+    private void drain() {
+        BookProgressDTO next;
+        boolean confirm;
+        synchronized (this) {
+            if (draining || retryScheduled || disposed) {
+                return;
+            }
+            next = oldest().orElse(null);
+            if (next == null) {
+                return;
+            }
+            confirm = unconfirmed.contains(next.getUrl());
+            draining = true;
+        }
+
+        CompletableFuture<Boolean> sending;
+        try {
+            sending = confirm ? FutureUtil.compose(bookshelf.get(), books -> sendUnlessSuperseded(next, books)) : send(next);
+        } catch (RuntimeException e) {
+            sending = CompletableFuture.failedFuture(e);
+        }
+
+        sending.whenComplete((sent, throwable) -> {
+            long retryDelay = -1;
+            synchronized (this) {
+                draining = false;
+                if (throwable == null) {
+                    // 发送期间有更新的进度时保留更新的那条
+                    if (pending.remove(next.getUrl(), next)) {
+                        unconfirmed.remove(next.getUrl());
+                    }
+                    rewrite();
+                    retryMillis = MIN_RETRY_MILLIS;
+                } else if (!disposed) {
+                    // 离线期间其他设备可能更新了进度，重试前先与服务器比较
+                    unconfirmed.add(next.getUrl());
+                    // 与 draining 在同一把锁内切换，其间写入的进度不会另起发送链
+                    retryScheduled = true;
+                    retryDelay = retryMillis;
+                    retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+                }
+            }
+
+            if (throwable == null) {
+                if (sent) {
+                    log.debug("同步阅读进度成功：{} - {} ({})", next.getName(), next.getDurChapterTitle(), next.getDurChapterPos());
+                } else {
+                    log.info("服务器上的阅读进度较新，放弃本地进度：{} - {}", next.getName(), next.getDurChapterTitle());
+                }
+                drain();
+            } else if (retryDelay >= 0) {
+                scheduleRetry(retryDelay, FutureUtil.unwrap(throwable));
+            }
+        });
+    }
+
+    /**
+     * 发送一条进度
+     *
+     * @return 发送完成的 Future，结果为 true
+     */
+    private CompletableFuture<Boolean> send(BookProgressDTO progress) {
+        return FutureUtil.map(sender.apply(progress), result -> true);
+    }
+
+    /**
+     * 服务器上该书的进度不比本地新时才发送
+     *
+     * @return 完成的 Future，结果为 false 表示服务器上的进度较新，未发送
+     */
+    private CompletableFuture<Boolean> sendUnlessSuperseded(BookProgressDTO progress, List<BookDTO> books) {
+        long localTime = progress.getDurChapterTime() != null ? progress.getDurChapterTime() : 0;
+        boolean superseded = books != null && books.stream()
+                .filter(book -> progress.getUrl().equals(book.getBookUrl()))
+                .anyMatch(book -> book.getDurChapterTime() != null && book.getDurChapterTime() > localTime);
+        return superseded ? CompletableFuture.completedFuture(false) : send(progress);
+    }
+
+    private void scheduleRetry(long delay, Throwable cause) {
+        log.warn("同步阅读进度失败，{} 秒后重试: {}", delay / 1000, cause.getMessage());
+        CompletableFuture.runAsync(this::retry, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS,
+                PluginExecutorService.getInstance().executor()));
+    }
+
+    private void retry() {
+        synchronized (this) {
+            retryScheduled = false;
+        }
+        drain();
+    }
+
+    /**
+     * 是否正在等待重试
+     */
+    synchronized boolean isRetryScheduled() {
+        return retryScheduled;
+    }
+
+    private Optional<BookProgressDTO> oldest() {
+        return pending.values().stream()
+                .min(Comparator.comparing(BookProgressDTO::getDurChapterTime, Comparator.nullsFirst(Comparator.naturalOrder())));
+    }
+
+    /**
+     * 首次使用时从日志恢复待发送的进度（每本书保留 durChapterTime 最新的一条）
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        if (!Files.exists(journal)) {
+            return;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    BookProgressDTO progress = JSONUtil.toBean(line, BookProgressDTO.class);
+                    if (progress.getUrl() != null && isNewer(progress, pending.get(progress.getUrl()))) {
+                        pending.put(progress.getUrl(), progress);
+                        unconfirmed.add(progress.getUrl());
+                    }
+                } catch (RuntimeException e) {
+                    // 写入时崩溃可能留下不完整的最后一行
+                    log.warn("跳过损坏的进度记录: {}", line);
+                }
+            }
+            rewrite();
+            log.info("恢复待同步的阅读进度: {} 条", pending.size());
+        } catch (IOException e) {
+            log.warn("读取进度日志失败: {}", journal, e);
+        }
+    }
+
+    private static boolean isNewer(BookProgressDTO candidate, BookProgressDTO current) {
+        if (current == null) {
+            return true;
+        }
+        long candidateTime = candidate.getDurChapterTime() != null ? candidate.getDurChapterTime() : 0;
+        long currentTime = current.getDurChapterTime() != null ? current.getDurChapterTime() : 0;
+        return candidateTime >= currentTime;
+    }
+
+    private void append(BookProgressDTO progress) {
+        try {
+            Files.createDirectories(journal.getParent());
+            Files.writeString(journal, JSONUtil.toJsonStr(progress) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            log.warn("写入进度日志失败: {}", journal, e);
+        }
+    }
+
+    /**
+     * 用压缩后的待发送进度重写日志（先写临时文件再替换）
+     */
+    private void rewrite() {
+        try {
+            if (pending.isEmpty()) {
+                Files.deleteIfExists(journal);
+                return;
+            }
+
+            StringBuilder content = new StringBuilder();
+            pending.values().forEach(progress -> content.append(JSONUtil.toJsonStr(progress)).append('\n'));
+
+            Path temp = journal.resolveSibling(journal.getFileName() + ".tmp");
+            Files.createDirectories(journal.getParent());
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("压缩进度日志失败: {}", journal, e);
+        }
+    }
+
+    /**
+     * 停止发送和重试（未发送的进度保留在日志中，下次启动时重新发送）
+     */
+    @Override
+    public synchronized void dispose() {
+        disposed = true;
+    }
+}
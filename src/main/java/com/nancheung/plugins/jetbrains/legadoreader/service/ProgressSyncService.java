@@ -0,0 +1,188 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookChapterDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookProgressDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.manager.ReadingSessionManager;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ReadingSession;
+import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 阅读进度同步服务（Application Service）
+ * 接收翻页、翻章时的进度更新，按书籍合并，只在停止翻页一段时间后发送最新的进度
+ * 会话结束时立即提交未同步的进度，实际发送和失败重试由 {@link ProgressOutbox} 负责；
+ * IDE 关闭时只把未同步的进度写入发件箱日志，不在关闭阶段发起网络请求，下次启动时再发送
+ *
+ * @author NanCheung
+ */
+@Slf4j
+@Service
+public final class ProgressSyncService implements Disposable {
+
+    /**
+     * 静默期的取值范围（毫秒），0 表示每次翻页立即同步
+     */
+    public static final int MIN_DELAY_MILLIS = 0;
+    public static final int MAX_DELAY_MILLIS = 60_000;
+
+    /**
+     * 待同步的进度，key 为书籍 URL
+     */
+    private final Map<String, PendingProgress> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * 发件箱（构造时获取，关闭阶段不再查找服务）
+     */
+    private final ProgressOutbox outbox;
+
+    private volatile boolean disposed;
+
+    /**
+     * 获取单例实例
+     */
+    public static ProgressSyncService getInstance() {
+        return ApplicationManager.getApplication().getService(ProgressSyncService.class);
+    }
+
+    /**
+     * 构造函数（由 IntelliJ Platform 调用）
+     */
+    public ProgressSyncService() {
+        this.outbox = ProgressOutbox.getInstance();
+    }
+
+    /**
+     * 提交当前会话的阅读进度（翻页时调用）
+     *
+     * @param position 章节内的字符位置
+     */
+    public void submitCurrent(int position) {
+        ReadingSession session = ReadingSessionManager.getInstance().getSession();
+        if (session == null) {
+            return;
+        }
+
+        BookChapterDTO chapter = session.getCurrentChapter();
+        submit(session.book(), session.currentChapterIndex(), chapter != null ? chapter.getTitle() : null, position);
+    }
+
+    /**
+     * 提交当前会话中指定章节的阅读进度（跨章翻页时调用，此时会话尚未切换到该章节）
+     *
+     * @param chapterIndex 章节索引
+     * @param position     章节内的字符位置
+     */
+    public void submitChapter(int chapterIndex, int position) {
+        ReadingSession session = ReadingSessionManager.getInstance().getSession();
+        if (session == null || chapterIndex < 0 || chapterIndex >= session.chapters().size()) {
+            return;
+        }
+
+        submit(session.book(), chapterIndex, session.chapters().get(chapterIndex).getTitle(), position);
+    }
+
+    /**
+     * 提交阅读进度
+     * 同一本书在静默期内的多次提交会被合并，只发送最后一次
+     *
+     * @param book          书籍
+     * @param chapterIndex  章节索引
+     * @param chapterTitle  章节标题
+     * @param durChapterPos 章节内的字符位置
+     */
+    public void submit(BookDTO book, int chapterIndex, String chapterTitle, int durChapterPos) {
+        BookProgressDTO progress = BookProgressDTO.builder()
+                .author(book.getAuthor())
+                .name(book.getName())
+                .durChapterIndex(chapterIndex)
+                .durChapterTitle(chapterTitle)
+                .durChapterTime(System.currentTimeMillis())
+                .durChapterPos(durChapterPos)
+                .url(book.getBookUrl())
+                .index(chapterIndex)
+                .build();
+
+        String bookUrl = book.getBookUrl();
+        PendingProgress entry = new PendingProgress(progress, versions.incrementAndGet());
+        pending.put(bookUrl, entry);
+
+        // 静默期结束后仍是最新的进度才发送
+        CompletableFuture.runAsync(() -> flushIfLatest(bookUrl, entry),
+                CompletableFuture.delayedExecutor(delayMillis(), TimeUnit.MILLISECONDS,
+                        PluginExecutorService.getInstance().executor()));
+    }
+
+    private void flushIfLatest(String bookUrl, PendingProgress entry) {
+        if (pending.remove(bookUrl, entry)) {
+            send(entry.progress());
+        }
+    }
+
+    /**
+     * 立即发送所有未同步的进度（如会话结束时）
+     */
+    public void flushAll() {
+        for (String bookUrl : new ArrayList<>(pending.keySet())) {
+            PendingProgress entry = pending.remove(bookUrl);
+            if (entry != null) {
+                send(entry.progress());
+            }
+        }
+    }
+
+    /**
+     * 交给发件箱：先写入本地日志再发送，服务器不可达时稍后重试
+     */
+    private void send(BookProgressDTO progress) {
+        if (disposed) {
+            // 关闭后才到期的延迟任务只写入日志
+            outbox.persist(progress);
+        } else {
+            outbox.enqueue(progress);
+        }
+    }
+
+    /**
+     * IDE 关闭时把未同步的进度写入发件箱日志，下次启动时发送（由 IntelliJ Platform 自动调用）
+     */
+    @Override
+    public void dispose() {
+        disposed = true;
+        for (String bookUrl : new ArrayList<>(pending.keySet())) {
+            PendingProgress entry = pending.remove(bookUrl);
+            if (entry != null) {
+                outbox.persist(entry.progress());
+            }
+        }
+    }
+
+    /**
+     * 静默期（限制在 [{@link #MIN_DELAY_MILLIS}, {@link #MAX_DELAY_MILLIS}]，未设置时为 3 秒）
+     */
+    private static long delayMillis() {
+        Integer delay = PluginSettingsStorage.getInstance().getState().progressSyncDelayMillis;
+        return delay != null ? Math.max(MIN_DELAY_MILLIS, Math.min(MAX_DELAY_MILLIS, delay)) : 3_000;
+    }
+
+    /**
+     * 待同步的进度
+     *
+     * @param progress 进度
+     * @param version  提交序号（区分同一本书的多次提交）
+     */
+    private record PendingProgress(BookProgressDTO progress, long version) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+/**
+ * 按标点断页的页边界策略
+ * 在页尾的容差窗口内寻找最后一个标点或空白，在其后断页，使每页尽量以完整的句子或短语结束；
+ * 窗口内没有合适的断点时退回度量结果，但不会拆开字素簇（组合字符、ZWJ 表情序列、变体选择符、肤色修饰符等）
+ * <p>
+ * 实现为窗口内的单次正向扫描，不使用正则，也不产生逐字符的对象分配
+ *
+ * @author NanCheung
+ */
+public final class PunctuationBoundaryStrategy implements PageBoundaryStrategy {
+
+    /**
+     * 默认策略：最多让出一页长度的 1/4 来对齐标点
+     */
+    public static final PunctuationBoundaryStrategy DEFAULT = new PunctuationBoundaryStrategy(0.25);
+
+    private static final int ZERO_WIDTH_JOINER = 0x200D;
+
+    /**
+     * 为对齐标点最多让出的页长度比例
+     */
+    private final double tolerance;
+
+    /**
+     * @param tolerance 为对齐标点最多让出的页长度比例（0 ~ 1）
+     */
+    public PunctuationBoundaryStrategy(double tolerance) {
+        this.tolerance = Math.max(0, Math.min(1, tolerance));
+    }
+
+    @Override
+    public int adjust(String content, int start, int maxEnd) {
+        int length = content.length();
+        if (maxEnd >= length) {
+            return length;
+        }
+
+        // 1. 在容差窗口内正向扫描，记录最后一个合适的断点
+        int window = (int) ((maxEnd - start) * tolerance);
+        int from = Math.max(start + 1, maxEnd - window);
+        int best = -1;
+
+        for (int pos = from; pos <= maxEnd; pos++) {
+            boolean breakable = isBreakAfter(content, pos - 1) || isOpeningPunctuation(content.charAt(pos));
+            // 标点后紧跟的结束引号/括号留在本页
+            if (breakable && !isClosingPunctuation(content, pos) && isGraphemeBoundary(content, pos)) {
+                best = pos;
+            }
+        }
+
+        if (best > start) {
+            return best;
+        }
+
+        // 2. 没有标点：退回到度量结果之前最近的字素簇边界
+        int end = maxEnd;
+        while (end > start + 1 && !isGraphemeBoundary(content, end)) {
+            end--;
+        }
+        if (isGraphemeBoundary(content, end)) {
+            return end;
+        }
+
+        // 3. 整页只有一个超长的字素簇：向后找到簇的结尾（宁可略超出一页，也不拆开字符）
+        end = maxEnd;
+        while (end < length && !isGraphemeBoundary(content, end)) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * 是否可以在该位置断开（不拆开字素簇）
+     */
+    static boolean isGraphemeBoundary(String content, int pos) {
+        if (pos <= 0 || pos >= content.length()) {
+            return true;
+        }
+
+        // 代理对中间
+        if (Character.isLowSurrogate(content.charAt(pos)) && Character.isHighSurrogate(content.charAt(pos - 1))) {
+            return false;
+        }
+
+        int next = content.codePointAt(pos);
+        if (isExtending(next)) {
+            return false;
+        }
+
+        // ZWJ 之后连接的字符属于同一个表情序列
+        return content.codePointBefore(pos) != ZERO_WIDTH_JOINER;
+    }
+
+    /**
+     * 是否为附着在前一个字符上的码点（不能作为新字素簇的开头）
+     */
+    private static boolean isExtending(int codePoint) {
+        if (codePoint == ZERO_WIDTH_JOINER
+                || (codePoint >= 0xFE00 && codePoint <= 0xFE0F)        // 变体选择符
+                || (codePoint >= 0x1F3FB && codePoint <= 0x1F3FF)      // 表情肤色修饰符
+                || (codePoint >= 0xE0020 && codePoint <= 0xE007F)      // 标签字符（旗帜序列）
+                || (codePoint >= 0xE0100 && codePoint <= 0xE01EF)) {   // 变体选择符补充
+            return true;
+        }
+
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK
+                || type == Character.ENCLOSING_MARK
+                || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    /**
+     * 其后适合断页的字符：中英文句读、结束引号/括号、空白
+     * 英文句读后紧跟数字时不断开（如 3.14、1,000、10:30）
+     *
+     * @param index 字符位置（小于 content.length() - 1）
+     */
+    private static boolean isBreakAfter(String content, int index) {
+        char c = content.charAt(index);
+        return switch (c) {
+            case '，', '。', '！', '？', '；', '：', '、', '…', '—', '～', '!', '?', ';' -> true;
+            case '.', ',', ':' -> !isAsciiDigit(content.charAt(index + 1));
+            default -> isClosingPunctuation(content, index) || Character.isWhitespace(c);
+        };
+    }
+
+    /**
+     * 结束引号/括号
+     * ASCII 引号不区分开始和结束，只有其后是空白或文本结尾时才视为结束引号
+     */
+    private static boolean isClosingPunctuation(String content, int index) {
+        return switch (content.charAt(index)) {
+            case '」', '』', '”', '’', '）', '》', '〉', '】', '〕', ')', ']', '}' -> true;
+            case '"', '\'' -> index + 1 >= content.length() || Character.isWhitespace(content.charAt(index + 1));
+            default -> false;
+        };
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 开始引号/括号（其前适合断页）
+     */
+    private static boolean isOpeningPunctuation(char c) {
+        return switch (c) {
+            case '「', '『', '“', '‘', '（', '《', '〈', '【', '〔', '(', '[', '{' -> true;
+            default -> false;
+        };
+    }
+}
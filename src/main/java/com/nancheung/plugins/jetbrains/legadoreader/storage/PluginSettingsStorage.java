@@ -9,6 +9,7 @@ import com.intellij.openapi.editor.colors.EditorColorsManager;
 import com.intellij.openapi.editor.colors.EditorFontType;
 import com.intellij.ui.JBColor;
 import com.intellij.util.xmlb.annotations.OptionTag;
+import com.nancheung.plugins.jetbrains.legadoreader.common.IReader;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.converter.FontConverter;
 import com.nancheung.plugins.jetbrains.legadoreader.storage.converter.JBColorConverter;
 import lombok.AllArgsConstructor;
@@ -99,6 +100,36 @@ public final class PluginSettingsStorage implements PersistentStateComponent<Plu
          */
         public Boolean enableShowBodyInLine = false;
 
+        /**
+         * API 连接超时（毫秒）
+         */
+        public Integer apiConnectTimeoutMillis = 5_000;
+
+        /**
+         * API 读取超时（毫秒）
+         */
+        public Integer apiReadTimeoutMillis = 15_000;
+
+        /**
+         * 每个服务器地址的最大并发连接数（连接池大小）
+         */
+        public Integer apiMaxConnections = 4;
+
+        /**
+         * 预载进度因子：当前页超过本章总页数的该比例后预加载后续章节
+         */
+        public Float prefetchLoadFactor = IReader.DEFAULT_LOAD_FACTOR;
+
+        /**
+         * 预加载深度：预加载当前章节之后的章节数，0 表示不预加载
+         */
+        public Integer prefetchDepth = 1;
+
+        /**
+         * 阅读进度同步的静默期（毫秒）：停止翻页超过该时间后才发送最新进度
+         */
+        public Integer progressSyncDelayMillis = 3_000;
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -109,13 +140,21 @@ public final class PluginSettingsStorage implements PersistentStateComponent<Plu
                     Objects.equals(textBodyLineHeight, state.textBodyLineHeight) &&
                     Objects.equals(apiCustomParams, state.apiCustomParams) &&
                     Objects.equals(enableErrorLog, state.enableErrorLog) &&
-                    Objects.equals(enableShowBodyInLine, state.enableShowBodyInLine);
+                    Objects.equals(enableShowBodyInLine, state.enableShowBodyInLine) &&
+                    Objects.equals(apiConnectTimeoutMillis, state.apiConnectTimeoutMillis) &&
+                    Objects.equals(apiReadTimeoutMillis, state.apiReadTimeoutMillis) &&
+                    Objects.equals(apiMaxConnections, state.apiMaxConnections) &&
+                    Objects.equals(prefetchLoadFactor, state.prefetchLoadFactor) &&
+                    Objects.equals(prefetchDepth, state.prefetchDepth) &&
+                    Objects.equals(progressSyncDelayMillis, state.progressSyncDelayMillis);
         }
 
         @Override
         public int hashCode() {
             return Objects.hash(textBodyFontColor, textBodyFont, textBodyLineHeight,
-                    apiCustomParams, enableErrorLog, enableShowBodyInLine);
+                    apiCustomParams, enableErrorLog, enableShowBodyInLine,
+                    apiConnectTimeoutMillis, apiReadTimeoutMillis, apiMaxConnections,
+                    prefetchLoadFactor, prefetchDepth, progressSyncDelayMillis);
         }
     }
 
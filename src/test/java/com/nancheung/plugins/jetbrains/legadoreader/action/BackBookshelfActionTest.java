@@ -0,0 +1,135 @@
+package com.nancheung.plugins.jetbrains.legadoreader.action;
+
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.nancheung.plugins.jetbrains.legadoreader.api.ApiTransport;
+import com.nancheung.plugins.jetbrains.legadoreader.api.ApiUtil;
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookChapterDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.command.CommandHandlerRegistry;
+import com.nancheung.plugins.jetbrains.legadoreader.command.CommandType;
+import com.nancheung.plugins.jetbrains.legadoreader.command.handler.BackToBookshelfHandler;
+import com.nancheung.plugins.jetbrains.legadoreader.manager.ReadingSessionManager;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ReadingSession;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ChapterPrefetchService;
+import com.nancheung.plugins.jetbrains.legadoreader.service.ProgressSyncService;
+import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * BackBookshelfAction 测试（需要 IDE 环境）
+ *
+ * @author NanCheung
+ */
+public class BackBookshelfActionTest extends BasePlatformTestCase {
+
+    private static final String BOOK_URL = "https://example.com/book/back-to-bookshelf";
+
+    private final List<String> savedProgress = new CopyOnWriteArrayList<>();
+
+    private final List<CompletableFuture<String>> contentRequests = new CopyOnWriteArrayList<>();
+
+    private Integer originalDelay;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        PluginSettingsStorage.State state = PluginSettingsStorage.getInstance().getState();
+        originalDelay = state.progressSyncDelayMillis;
+        // 静默期足够长，测试期间只有返回书架会触发发送
+        state.progressSyncDelayMillis = ProgressSyncService.MAX_DELAY_MILLIS;
+
+        ApiUtil.setTransport(new RecordingTransport());
+        CommandHandlerRegistry registry = CommandHandlerRegistry.getInstance();
+        if (registry.getHandler(CommandType.BACK_TO_BOOKSHELF).isEmpty()) {
+            registry.register(new BackToBookshelfHandler());
+        }
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            PluginSettingsStorage.getInstance().getState().progressSyncDelayMillis = originalDelay;
+            ReadingSessionManager.getInstance().clear();
+            ApiUtil.setTransport(null);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testLeavingReaderFlushesPendingProgress() {
+        openSession();
+
+        ProgressSyncService.getInstance().submitCurrent(42);
+        assertFalse(sentForBook());
+
+        myFixture.testAction(new BackBookshelfAction());
+
+        PlatformTestUtil.waitWithEventsDispatching("返回书架后未同步阅读进度", this::sentForBook, 10);
+        assertNull(ReadingSessionManager.getInstance().getSession());
+    }
+
+    public void testLeavingReaderCancelsPrefetch() {
+        openSession();
+
+        ChapterPrefetchService.getInstance().prefetchAhead();
+        PlatformTestUtil.waitWithEventsDispatching("未发起预加载请求", () -> !contentRequests.isEmpty(), 10);
+
+        myFixture.testAction(new BackBookshelfAction());
+
+        CompletableFuture<String> request = contentRequests.get(0);
+        PlatformTestUtil.waitWithEventsDispatching("返回书架后未取消预加载", request::isCancelled, 10);
+    }
+
+    private static void openSession() {
+        BookDTO book = new BookDTO();
+        book.setName("测试书籍");
+        book.setBookUrl(BOOK_URL);
+        ReadingSessionManager.getInstance().setSession(
+                new ReadingSession(book, List.of(chapter("第一章"), chapter("第二章")), 0, "正文"));
+    }
+
+    private static BookChapterDTO chapter(String title) {
+        BookChapterDTO chapter = new BookChapterDTO();
+        chapter.setTitle(title);
+        return chapter;
+    }
+
+    private boolean sentForBook() {
+        return savedProgress.stream().anyMatch(body -> body.contains(BOOK_URL));
+    }
+
+    /**
+     * 记录进度同步请求的传输层，章节内容请求保持未完成
+     */
+    private final class RecordingTransport implements ApiTransport {
+
+        @Override
+        public String get(String url, Map<String, Object> params) throws IOException {
+            throw new IOException("不支持的请求: " + url);
+        }
+
+        @Override
+        public String post(String url, Map<String, Object> params, String jsonBody) {
+            savedProgress.add(jsonBody);
+            return "{\"isSuccess\":true}";
+        }
+
+        @Override
+        public CompletableFuture<String> getAsync(String url, Map<String, Object> params) {
+            CompletableFuture<String> request = new CompletableFuture<>();
+            contentRequests.add(request);
+            return request;
+        }
+
+        @Override
+        public CompletableFuture<String> postAsync(String url, Map<String, Object> params, String jsonBody) {
+            return CompletableFuture.completedFuture(post(url, params, jsonBody));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.nancheung.plugins.jetbrains.legadoreader.api;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ConnectionLimiter 测试
+ *
+ * @author NanCheung
+ */
+public class ConnectionLimiterTest {
+
+    /**
+     * 执行器正常运行时不应被拒绝
+     */
+    private static final Consumer<RejectedExecutionException> UNEXPECTED = e -> {
+        throw new AssertionError(e);
+    };
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrencyNeverExceedsLimit() throws InterruptedException {
+        ConnectionLimiter limiter = new ConnectionLimiter(2, executor);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(5);
+                running.decrementAndGet();
+                limiter.release();
+                done.countDown();
+            }, UNEXPECTED);
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 2);
+        assertEquals(0, limiter.outstanding());
+    }
+
+    @Test
+    public void releaseFromTaskDoesNotRecurse() throws InterruptedException {
+        ConnectionLimiter limiter = new ConnectionLimiter(1, executor);
+        int tasks = 2_000;
+        CountDownLatch done = new CountDownLatch(tasks);
+        List<Integer> depths = new ArrayList<>();
+
+        // 先占住唯一的许可，让其余任务全部排队
+        CountDownLatch gate = new CountDownLatch(1);
+        limiter.submit(() -> {
+            await(gate);
+            limiter.release();
+        }, UNEXPECTED);
+        for (int i = 0; i < tasks; i++) {
+            limiter.submit(() -> {
+                synchronized (depths) {
+                    depths.add(Thread.currentThread().getStackTrace().length);
+                }
+                // 模拟在请求完成回调中归还许可
+                limiter.release();
+                done.countDown();
+            }, UNEXPECTED);
+        }
+        gate.countDown();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        int deepest = depths.stream().mapToInt(Integer::intValue).max().orElse(0);
+        assertTrue("栈深度随排队任务数增长: " + deepest, deepest < 100);
+    }
+
+    @Test
+    public void retireWaitsForOutstandingTasks() throws InterruptedException {
+        ConnectionLimiter limiter = new ConnectionLimiter(1, executor);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CountDownLatch retired = new CountDownLatch(1);
+
+        limiter.submit(() -> {
+            started.countDown();
+            await(finish);
+            limiter.release();
+        }, UNEXPECTED);
+        CountDownLatch queuedRan = new CountDownLatch(1);
+        limiter.submit(() -> {
+            queuedRan.countDown();
+            limiter.release();
+        }, UNEXPECTED);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        limiter.retire(retired::countDown);
+        assertFalse(retired.await(50, TimeUnit.MILLISECONDS));
+
+        finish.countDown();
+        assertTrue(queuedRan.await(5, TimeUnit.SECONDS));
+        assertTrue(retired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void retireIdleRunsImmediately() {
+        ConnectionLimiter limiter = new ConnectionLimiter(1, executor);
+        AtomicInteger calls = new AtomicInteger();
+
+        limiter.retire(calls::incrementAndGet);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void rejectedTasksFailAndReturnPermits() {
+        ConnectionLimiter limiter = new ConnectionLimiter(1, task -> {
+            throw new RejectedExecutionException("executor closed");
+        });
+        List<RejectedExecutionException> rejections = new ArrayList<>();
+        AtomicInteger ran = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            limiter.submit(ran::incrementAndGet, rejections::add);
+        }
+
+        assertEquals(0, ran.get());
+        assertEquals(3, rejections.size());
+        assertEquals(0, limiter.outstanding());
+
+        AtomicInteger retired = new AtomicInteger();
+        limiter.retire(retired::incrementAndGet);
+        assertEquals(1, retired.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.nancheung.plugins.jetbrains.legadoreader.api;
+
+import com.nancheung.plugins.jetbrains.legadoreader.common.MicroBenchmark;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP 客户端基准测试：每次请求新建客户端 vs 共享客户端（复用长连接）
+ * 本地桩服务器返回固定的章节正文，多个线程并发请求，输出吞吐量和延迟分位数
+ *
+ * @author NanCheung
+ */
+public class HttpClientBenchmark {
+
+    private static final int REQUESTS = 2_000;
+    private static final int CONCURRENCY = 4;
+    private static final byte[] RESPONSE = ("{\"isSuccess\":true,\"data\":\"" + "正文".repeat(2_000) + "\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClient sharedClient;
+    private HttpRequest request;
+
+    @Before
+    public void setUp() throws IOException {
+        MicroBenchmark.assumeEnabled();
+
+        // 桩服务器分开写响应头和响应体，不关闭 Nagle 时长连接上的每个请求都会多等一次延迟确认（约 40 ms）
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/getBookContent", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(CONCURRENCY * 2);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/getBookContent?url=book&index=1");
+        request = HttpRequest.newBuilder(uri).GET().build();
+        sharedClient = newClient();
+    }
+
+    @After
+    public void tearDown() {
+        if (sharedClient != null) {
+            sharedClient.close();
+        }
+        if (server != null) {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void perRequestClientVersusSharedClient() throws Exception {
+        measure("每次请求新建 HttpClient", false);
+        measure("共享 HttpClient", true);
+    }
+
+    private void measure(String name, boolean shared) throws Exception {
+        // 预热（类加载、JIT、共享客户端建立连接）
+        send(REQUESTS / 4, shared);
+
+        long start = System.nanoTime();
+        long[] latencies = send(REQUESTS, shared);
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-28s %10.0f req/s   p50 %8.1f us   p99 %8.1f us%n", name,
+                REQUESTS * 1e9 / elapsed, percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3);
+    }
+
+    /**
+     * 并发发送请求
+     *
+     * @return 每个请求的耗时（纳秒，含新建和关闭客户端）
+     */
+    private long[] send(int requests, boolean shared) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(workers.submit(() -> {
+                    for (int index = next.getAndIncrement(); index < requests; index = next.getAndIncrement()) {
+                        long start = System.nanoTime();
+                        HttpClient client = shared ? sharedClient : newClient();
+                        try {
+                            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                            if (response.statusCode() != 200) {
+                                throw new IOException("HTTP " + response.statusCode());
+                            }
+                        } finally {
+                            if (!shared) {
+                                client.close();
+                            }
+                        }
+                        latencies[index] = System.nanoTime() - start;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return latencies;
+    }
+
+    private static HttpClient newClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))];
+    }
+}
@@ -0,0 +1,163 @@
+package com.nancheung.plugins.jetbrains.legadoreader.api;
+
+import com.nancheung.plugins.jetbrains.legadoreader.common.LatencyStage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * RequestCoalescer 测试（使用手动完成的传输层）
+ *
+ * @author NanCheung
+ */
+public class RequestCoalescerTest {
+
+    private FakeTransport transport;
+    private RequestCoalescer coalescer;
+    private List<LatencyStage> samples;
+
+    @Before
+    public void setUp() {
+        transport = new FakeTransport();
+        samples = new ArrayList<>();
+        ApiLatencyRecorder recorder = (stage, nanos) -> samples.add(stage);
+        coalescer = new RequestCoalescer(() -> transport, () -> recorder);
+    }
+
+    @Test
+    public void concurrentGetsShareOneRequest() {
+        CompletableFuture<String> first = coalescer.getAsync("host/getBookContent", Map.of("index", 1, "url", "b"));
+        CompletableFuture<String> second = coalescer.getAsync("host/getBookContent", Map.of("url", "b", "index", 1));
+
+        assertEquals(1, transport.requests.size());
+        assertEquals(1, coalescer.getCoalescedCount());
+
+        transport.requests.get(0).complete("正文");
+        assertEquals("正文", first.join());
+        assertEquals("正文", second.join());
+    }
+
+    @Test
+    public void sharedRequestRecordsNetworkLatencyOnce() {
+        coalescer.getAsync("host/getBookshelf", null);
+        coalescer.getAsync("host/getBookshelf", null);
+        coalescer.getAsync("host/getBookshelf", null);
+        assertEquals(List.of(), samples);
+
+        transport.requests.get(0).complete("[]");
+        assertEquals(List.of(LatencyStage.NETWORK), samples);
+    }
+
+    @Test
+    public void failedRequestRecordsNoLatency() {
+        coalescer.getAsync("host/getBookshelf", null);
+        coalescer.getAsync("host/getBookshelf", null);
+
+        transport.requests.get(0).completeExceptionally(new IOException("连接失败"));
+        assertEquals(List.of(), samples);
+    }
+
+    @Test
+    public void differentParamsAreNotCoalesced() {
+        coalescer.getAsync("host/getBookContent", Map.of("index", 1));
+        coalescer.getAsync("host/getBookContent", Map.of("index", 2));
+
+        assertEquals(2, transport.requests.size());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void completedRequestIsNotReused() {
+        coalescer.getAsync("host/getBookshelf", null);
+        transport.requests.get(0).complete("[]");
+
+        coalescer.getAsync("host/getBookshelf", null);
+        assertEquals(2, transport.requests.size());
+    }
+
+    @Test
+    public void cancellingOneCallerKeepsRequestForOthers() {
+        CompletableFuture<String> first = coalescer.getAsync("host/getBookshelf", null);
+        CompletableFuture<String> second = coalescer.getAsync("host/getBookshelf", null);
+
+        first.cancel(true);
+        assertFalse(transport.requests.get(0).isCancelled());
+
+        transport.requests.get(0).complete("[]");
+        assertEquals("[]", second.join());
+    }
+
+    @Test
+    public void cancellingAllCallersAbortsRequest() {
+        CompletableFuture<String> first = coalescer.getAsync("host/getBookshelf", null);
+        CompletableFuture<String> second = coalescer.getAsync("host/getBookshelf", null);
+
+        first.cancel(true);
+        second.cancel(true);
+        assertTrue(transport.requests.get(0).isCancelled());
+
+        // 中止后的新请求重新发出
+        coalescer.getAsync("host/getBookshelf", null);
+        assertEquals(2, transport.requests.size());
+    }
+
+    @Test
+    public void failureReachesAllCallers() {
+        CompletableFuture<String> first = coalescer.getAsync("host/getBookshelf", null);
+        CompletableFuture<String> second = coalescer.getAsync("host/getBookshelf", null);
+
+        transport.requests.get(0).completeExceptionally(new IOException("连接失败"));
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    public void postIsNotCoalesced() {
+        coalescer.postAsync("host/saveBookProgress", null, "{}");
+        coalescer.postAsync("host/saveBookProgress", null, "{}");
+
+        assertEquals(2, transport.posts);
+        assertEquals(List.of(LatencyStage.NETWORK, LatencyStage.NETWORK), samples);
+    }
+
+    /**
+     * 记录请求、由测试手动完成的传输层
+     */
+    private static final class FakeTransport implements ApiTransport {
+
+        private final List<CompletableFuture<String>> requests = new ArrayList<>();
+        private int posts;
+
+        @Override
+        public String get(String url, Map<String, Object> params) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String post(String url, Map<String, Object> params, String jsonBody) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<String> getAsync(String url, Map<String, Object> params) {
+            CompletableFuture<String> request = new CompletableFuture<>();
+            requests.add(request);
+            return request;
+        }
+
+        @Override
+        public CompletableFuture<String> postAsync(String url, Map<String, Object> params, String jsonBody) {
+            posts++;
+            return CompletableFuture.completedFuture("");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.nancheung.plugins.jetbrains.legadoreader.common;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+/**
+ * ID 生成基准测试：{@link IdGenerator#nextId()} vs UUID.randomUUID()
+ *
+ * @author NanCheung
+ */
+public class IdGeneratorBenchmark {
+
+    private static final int OPERATIONS = 10_000;
+
+    @Before
+    public void setUp() {
+        MicroBenchmark.assumeEnabled();
+    }
+
+    @Test
+    public void idGeneratorVersusRandomUuid() {
+        MicroBenchmark.run("IdGenerator.nextId()", OPERATIONS, () -> {
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                sum += IdGenerator.nextId().length();
+            }
+            return sum;
+        });
+        MicroBenchmark.run("UUID.randomUUID().toString()", OPERATIONS, () -> {
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                sum += UUID.randomUUID().toString().length();
+            }
+            return sum;
+        });
+    }
+}
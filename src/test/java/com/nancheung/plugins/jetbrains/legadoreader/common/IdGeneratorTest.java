@@ -0,0 +1,76 @@
+package com.nancheung.plugins.jetbrains.legadoreader.common;
+
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * IdGenerator 测试
+ *
+ * @author NanCheung
+ */
+public class IdGeneratorTest {
+
+    @Test
+    public void idsShareSessionPrefixAndIncrease() {
+        String first = IdGenerator.nextId();
+        String second = IdGenerator.nextId();
+
+        String prefix = first.substring(0, first.lastIndexOf('-') + 1);
+        assertTrue(first.matches("[0-9a-z]+-[0-9a-z]+"));
+        assertTrue(second.startsWith(prefix));
+        assertTrue(sequence(second) > sequence(first));
+        assertTrue(second.compareTo(first) > 0);
+    }
+
+    @Test
+    public void encodedSequencesSortNumerically() {
+        assertEquals("1z", IdGenerator.encodeSequence(35));
+        assertEquals("210", IdGenerator.encodeSequence(36));
+        assertTrue(IdGenerator.encodeSequence(35).compareTo(IdGenerator.encodeSequence(36)) < 0);
+
+        long[] samples = {0, 1, 35, 36, 1_295, 1_296, 46_655, 46_656, Integer.MAX_VALUE, Long.MAX_VALUE - 1};
+        for (int i = 1; i < samples.length; i++) {
+            String previous = IdGenerator.encodeSequence(samples[i - 1]);
+            String current = IdGenerator.encodeSequence(samples[i]);
+            assertTrue(previous + " < " + current, previous.compareTo(current) < 0);
+        }
+    }
+
+    @Test
+    public void idsAreUniqueAcrossThreads() throws InterruptedException {
+        int threads = 8;
+        int perThread = 10_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < perThread; j++) {
+                        ids.add(IdGenerator.nextId());
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    private static long sequence(String id) {
+        // 跳过表示位数的第一位
+        return Long.parseLong(id.substring(id.lastIndexOf('-') + 2), Character.MAX_RADIX);
+    }
+}
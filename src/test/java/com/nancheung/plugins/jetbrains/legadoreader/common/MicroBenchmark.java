@@ -0,0 +1,100 @@
+package com.nancheung.plugins.jetbrains.legadoreader.common;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * 基准测试工具（测试用）
+ * 基准测试类以 Benchmark 结尾，默认跳过，需要时单独运行：
+ * <pre>
+ * ./gradlew test --tests '*Benchmark' -Dlegado.benchmark=true
+ * </pre>
+ * 每轮执行一次被测代码（内部循环 operations 次），先预热再计时，
+ * 取各轮耗时的中位数换算为每次操作的耗时，同时统计每次操作在当前线程上分配的字节数
+ *
+ * @author NanCheung
+ */
+public final class MicroBenchmark {
+
+    /**
+     * 启用基准测试的系统属性
+     */
+    public static final String PROPERTY = "legado.benchmark";
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 30;
+
+    /**
+     * 防止被测代码的结果被 JIT 消除
+     */
+    private static volatile long sink;
+
+    private MicroBenchmark() {
+    }
+
+    /**
+     * 未设置 {@value #PROPERTY}=true 时跳过当前测试
+     */
+    public static void assumeEnabled() {
+        Assume.assumeTrue("设置 -D" + PROPERTY + "=true 运行基准测试", Boolean.getBoolean(PROPERTY));
+    }
+
+    /**
+     * 测量并输出结果
+     *
+     * @param name       名称
+     * @param operations 每轮的操作次数
+     * @param round      执行一轮，返回值会被消费
+     * @return 测量结果
+     */
+    public static Result run(String name, int operations, LongSupplier round) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += round.getAsLong();
+        }
+
+        long[] nanos = new long[MEASURE_ROUNDS];
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += round.getAsLong();
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        Arrays.sort(nanos);
+        long totalOperations = (long) MEASURE_ROUNDS * operations;
+        Result result = new Result(name, (double) nanos[MEASURE_ROUNDS / 2] / operations,
+                allocated >= 0 ? (double) allocated / totalOperations : Double.NaN);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * 当前线程已分配的字节数，JVM 不支持时返回 -1
+     */
+    public static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * 测量结果
+     *
+     * @param name       名称
+     * @param nanosPerOp 每次操作的耗时（纳秒，各轮中位数）
+     * @param bytesPerOp 每次操作分配的字节数（JVM 不支持时为 NaN）
+     */
+    public record Result(String name, double nanosPerOp, double bytesPerOp) {
+
+        @Override
+        public String toString() {
+            return String.format("%-48s %12.1f ns/op %12.1f B/op", name, nanosPerOp, bytesPerOp);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.nancheung.plugins.jetbrains.legadoreader.presentation.editorline;
+
+import com.intellij.openapi.editor.LineExtensionInfo;
+import com.intellij.openapi.editor.markup.TextAttributes;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.nancheung.plugins.jetbrains.legadoreader.common.MicroBenchmark;
+import com.nancheung.plugins.jetbrains.legadoreader.service.IPaginationManager;
+import com.nancheung.plugins.jetbrains.legadoreader.service.PaginationManager;
+import com.nancheung.plugins.jetbrains.legadoreader.storage.PluginSettingsStorage;
+
+import java.awt.*;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * EditorLineRenderCache 和 ReaderEditorLinePainter 测试（需要 IDE 环境）
+ *
+ * @author NanCheung
+ */
+public class EditorLineRenderCacheTest extends BasePlatformTestCase {
+
+    private static final String CONTENT = "第一页的内容，第二页的内容。第三页的内容！";
+
+    private Boolean originalShowBodyInLine;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        PluginSettingsStorage.State state = PluginSettingsStorage.getInstance().getState();
+        originalShowBodyInLine = state.enableShowBodyInLine;
+        state.enableShowBodyInLine = true;
+        PaginationManager.getInstance().paginate(CONTENT, 7);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            PluginSettingsStorage.getInstance().getState().enableShowBodyInLine = originalShowBodyInLine;
+            PaginationManager.getInstance().clear();
+            EditorLineRenderCache.getInstance().rebuild();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testRebuildFormatsCurrentPage() {
+        EditorLineRenderCache cache = EditorLineRenderCache.getInstance();
+        cache.rebuild();
+
+        PaginationManager paginationManager = PaginationManager.getInstance();
+        IPaginationManager.PageData page = paginationManager.getCurrentPage();
+        assertNotNull(page);
+        assertEquals(page.formatForDisplay(paginationManager.getTotalPages()), text(cache.getExtensions()));
+
+        // 重建前多次读取得到同一个不可变集合，绘制时不分配对象
+        assertSame(cache.getExtensions(), cache.getExtensions());
+    }
+
+    public void testRebuildFollowsPageChanges() {
+        EditorLineRenderCache cache = EditorLineRenderCache.getInstance();
+        cache.rebuild();
+        String firstPage = text(cache.getExtensions());
+
+        PaginationManager.getInstance().nextPage();
+        assertEquals(firstPage, text(cache.getExtensions()));
+
+        cache.rebuild();
+        assertFalse(firstPage.equals(text(cache.getExtensions())));
+    }
+
+    public void testNothingToShowWhenDisabledOrEmpty() {
+        EditorLineRenderCache cache = EditorLineRenderCache.getInstance();
+
+        PluginSettingsStorage.getInstance().getState().enableShowBodyInLine = false;
+        cache.rebuild();
+        assertNull(cache.getExtensions());
+
+        PluginSettingsStorage.getInstance().getState().enableShowBodyInLine = true;
+        PaginationManager.getInstance().clear();
+        cache.rebuild();
+        assertNull(cache.getExtensions());
+    }
+
+    public void testPainterShowsContentOnCaretLineOnly() {
+        EditorCaretTracker.getInstance(getProject());
+        myFixture.configureByText("Reading.txt", "line 0\nline 1\nline 2");
+        myFixture.getEditor().getCaretModel().moveToOffset(myFixture.getEditor().getDocument().getLineStartOffset(1));
+        EditorLineRenderCache.getInstance().rebuild();
+
+        VirtualFile file = myFixture.getFile().getVirtualFile();
+        ReaderEditorLinePainter painter = new ReaderEditorLinePainter();
+        assertSame(EditorLineRenderCache.getInstance().getExtensions(), painter.getLineExtensions(getProject(), file, 1));
+        assertNull(painter.getLineExtensions(getProject(), file, 0));
+        assertNull(painter.getLineExtensions(getProject(), file, 2));
+    }
+
+    public void testCaretLinePaintAllocatesLessThanBuildingPerPaint() {
+        EditorCaretTracker.getInstance(getProject());
+        myFixture.configureByText("Reading.txt", "line 0\nline 1\nline 2");
+        myFixture.getEditor().getCaretModel().moveToOffset(myFixture.getEditor().getDocument().getLineStartOffset(1));
+        EditorLineRenderCache.getInstance().rebuild();
+
+        VirtualFile file = myFixture.getFile().getVirtualFile();
+        ReaderEditorLinePainter painter = new ReaderEditorLinePainter();
+        int paints = 1_000;
+
+        // 每次重绘读取预先构建的内容
+        MicroBenchmark.Result cached = MicroBenchmark.run("光标行重绘：读取预先构建的内容", paints, () -> {
+            long sum = 0;
+            for (int i = 0; i < paints; i++) {
+                sum += painter.getLineExtensions(getProject(), file, 1).size();
+            }
+            return sum;
+        });
+
+        // 每次重绘重新格式化文本并创建样式（预先构建之前的做法）
+        PaginationManager paginationManager = PaginationManager.getInstance();
+        Color color = PluginSettingsStorage.getInstance().getState().textBodyFontColor;
+        MicroBenchmark.Result rebuilt = MicroBenchmark.run("光标行重绘：每次重新构建", paints, () -> {
+            long sum = 0;
+            for (int i = 0; i < paints; i++) {
+                IPaginationManager.PageData page = paginationManager.getCurrentPage();
+                TextAttributes attributes = new TextAttributes();
+                attributes.setForegroundColor(color);
+                attributes.setFontType(Font.ITALIC);
+                sum += Collections.singletonList(new LineExtensionInfo(
+                        page.formatForDisplay(paginationManager.getTotalPages()), attributes)).size();
+            }
+            return sum;
+        });
+
+        if (Double.isNaN(cached.bytesPerOp())) {
+            // JVM 不支持统计线程内存分配
+            return;
+        }
+        assertTrue("读取预先构建的内容: " + cached + "，每次重新构建: " + rebuilt,
+                cached.bytesPerOp() * 10 < rebuilt.bytesPerOp());
+    }
+
+    private static String text(Collection<LineExtensionInfo> extensions) {
+        assertNotNull(extensions);
+        assertEquals(1, extensions.size());
+        return extensions.iterator().next().getText();
+    }
+}
@@ -0,0 +1,81 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.nancheung.plugins.jetbrains.legadoreader.model.ChapterKey;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ChapterContentCache 测试
+ *
+ * @author NanCheung
+ */
+public class ChapterContentCacheTest {
+
+    /**
+     * 每条超过缓存容量的 1/3，放入第三条时必须淘汰一条
+     */
+    private static final String LARGE = "字".repeat(1_500_000);
+
+    private final ChapterContentCache cache = new ChapterContentCache();
+
+    @Test
+    public void peekDoesNotTouchStats() {
+        ChapterKey key = new ChapterKey("http://book/1", 1);
+        cache.put(key, "内容");
+
+        assertEquals("内容", cache.peek(key));
+        assertNull(cache.peek(new ChapterKey("http://book/1", 2)));
+
+        ChapterContentCache.CacheStats stats = cache.getStats();
+        assertEquals(0, stats.hits());
+        assertEquals(0, stats.misses());
+    }
+
+    @Test
+    public void getCountsHitsAndMisses() {
+        ChapterKey key = new ChapterKey("http://book/1", 1);
+        cache.put(key, "内容");
+
+        cache.get(key);
+        cache.get(new ChapterKey("http://book/1", 2));
+
+        ChapterContentCache.CacheStats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    public void getRefreshesLruOrderButPeekDoesNot() {
+        ChapterKey first = new ChapterKey("http://book/1", 1);
+        ChapterKey second = new ChapterKey("http://book/1", 2);
+        ChapterKey third = new ChapterKey("http://book/1", 3);
+
+        cache.put(first, LARGE);
+        cache.put(second, LARGE);
+        cache.peek(first);
+        cache.put(third, LARGE);
+        // peek 不更新访问顺序，最早放入的被淘汰
+        assertNull(cache.peek(first));
+
+        cache.get(second);
+        cache.put(first, LARGE);
+        // get 更新了访问顺序，淘汰的是 third
+        assertNull(cache.peek(third));
+        assertEquals(LARGE, cache.peek(second));
+        assertTrue(cache.getStats().evictions() >= 2);
+    }
+
+    @Test
+    public void putReplacesContentAndTotalChars() {
+        ChapterKey key = new ChapterKey("http://book/1", 1);
+        cache.put(key, "旧内容");
+        cache.put(key, "新");
+
+        assertEquals("新", cache.peek(key));
+        assertEquals(1, cache.getStats().entries());
+        assertEquals(1, cache.getStats().totalChars());
+    }
+}
@@ -0,0 +1,168 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookChapterDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.model.ChapterKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * ChapterDiskCache 段文件格式测试（不依赖 IDE，直接使用临时目录）
+ *
+ * @author NanCheung
+ */
+public class ChapterDiskCacheTest {
+
+    private static final ChapterKey KEY = new ChapterKey("http://book/1", 3);
+
+    private Path directory;
+    private ChapterDiskCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("chapter-disk-cache");
+        cache = new ChapterDiskCache(directory);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        cache.dispose();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void readsBackAfterReopen() {
+        cache.put(KEY, "chapter-url", "第三章 正文");
+
+        ChapterDiskCache reopened = reopen();
+        assertEquals("第三章 正文", reopened.get(KEY, "chapter-url"));
+        assertEquals(1, reopened.size());
+    }
+
+    @Test
+    public void fingerprintMismatchIsMiss() {
+        cache.put(KEY, "chapter-url", "旧目录中的第三章");
+
+        assertNull(cache.get(KEY, "other-url"));
+        assertNull(cache.get(KEY, null));
+        assertNull(reopen().get(KEY, "other-url"));
+    }
+
+    @Test
+    public void putOverwritesExistingEntry() {
+        cache.put(KEY, "old-url", "旧内容");
+        cache.put(KEY, "new-url", "新内容");
+
+        assertEquals("新内容", cache.get(KEY, "new-url"));
+        assertNull(cache.get(KEY, "old-url"));
+
+        // 重新扫描时以最后写入的记录为准
+        assertEquals("新内容", reopen().get(KEY, "new-url"));
+    }
+
+    @Test
+    public void clearRemovesAllEntries() {
+        cache.put(KEY, "chapter-url", "内容");
+        cache.clear();
+
+        assertNull(cache.get(KEY, "chapter-url"));
+        assertEquals(0, cache.size());
+        assertEquals(0, reopen().size());
+
+        // 清空后仍可继续写入
+        cache.put(KEY, "chapter-url", "重新获取的内容");
+        assertEquals("重新获取的内容", cache.get(KEY, "chapter-url"));
+    }
+
+    @Test
+    public void truncatedTailKeepsCompleteRecords() throws IOException {
+        cache.put(KEY, "chapter-url", "完整的记录");
+        cache.dispose();
+
+        // 模拟写入中断：段文件末尾只有半条记录
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        Files.write(segment, new byte[]{0, 0, 0, 100, 1, 2}, StandardOpenOption.APPEND);
+
+        ChapterDiskCache reopened = reopen();
+        assertEquals("完整的记录", reopened.get(KEY, "chapter-url"));
+
+        ChapterKey next = new ChapterKey("http://book/1", 4);
+        reopened.put(next, "next-url", "之后写入的记录");
+        assertEquals("之后写入的记录", reopen().get(next, "next-url"));
+    }
+
+    @Test
+    public void negativeRawLengthStopsScan() throws IOException {
+        assertCorruptRawLengthStopsScan(-1);
+    }
+
+    @Test
+    public void oversizedRawLengthStopsScan() throws IOException {
+        assertCorruptRawLengthStopsScan(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void fingerprintPrefersUrlOverTitle() {
+        BookChapterDTO chapter = new BookChapterDTO();
+        chapter.setTitle("第一章");
+        assertEquals("title:第一章", ChapterDiskCache.fingerprintOf(chapter));
+
+        chapter.setUrl("http://book/1/1.html");
+        assertEquals("http://book/1/1.html", ChapterDiskCache.fingerprintOf(chapter));
+
+        assertNull(ChapterDiskCache.fingerprintOf(new BookChapterDTO()));
+        assertNull(ChapterDiskCache.fingerprintOf(null));
+    }
+
+    /**
+     * 破坏第二条记录的原文字节数后重新打开：第一条记录仍可读取，扫描在第二条记录处停止
+     */
+    private void assertCorruptRawLengthStopsScan(int rawLength) throws IOException {
+        cache.put(KEY, "chapter-url", "完整的记录");
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        long secondRecord = Files.size(segment);
+
+        ChapterKey corrupt = new ChapterKey("http://book/1", 4);
+        cache.put(corrupt, "next-url", "长度被破坏的记录");
+        cache.dispose();
+
+        // 原文字节数位于 [书籍 URL 长度][书籍 URL][章节索引][章节指纹长度][章节指纹] 之后
+        int rawLengthOffset = Integer.BYTES * 3 + corrupt.bookUrl().getBytes(StandardCharsets.UTF_8).length
+                + "next-url".getBytes(StandardCharsets.UTF_8).length;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, rawLength), secondRecord + rawLengthOffset);
+        }
+
+        ChapterDiskCache reopened = reopen();
+        assertEquals("完整的记录", reopened.get(KEY, "chapter-url"));
+        assertNull(reopened.get(corrupt, "next-url"));
+        assertEquals(1, reopened.size());
+    }
+
+    private ChapterDiskCache reopen() {
+        cache.dispose();
+        cache = new ChapterDiskCache(directory);
+        return cache;
+    }
+}
@@ -0,0 +1,126 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ChapterLoadTracker 测试
+ *
+ * @author NanCheung
+ */
+public class ChapterLoadTrackerTest {
+
+    private static final String BOOK = "http://book/1";
+
+    private final ChapterLoadTracker tracker = new ChapterLoadTracker();
+
+    /**
+     * 会话中的当前章节
+     */
+    private final AtomicInteger sessionIndex = new AtomicInteger(5);
+
+    @Test
+    public void consecutiveNextAccumulates() {
+        ChapterLoadTracker.Ticket first = next();
+        ChapterLoadTracker.Ticket second = next();
+
+        assertEquals(6, first.chapterIndex());
+        assertEquals(7, second.chapterIndex());
+        assertFalse(tracker.finish(first, true));
+        assertTrue(tracker.finish(second, true));
+    }
+
+    @Test
+    public void supersededLoadIsCancelled() {
+        ChapterLoadTracker.Ticket first = next();
+        CompletableFuture<String> loading = new CompletableFuture<>();
+        first.track(loading);
+
+        next();
+        assertTrue(loading.isCancelled());
+    }
+
+    @Test
+    public void supersededLoadIsCancelledOutsideLock() {
+        ChapterLoadTracker.Ticket first = next();
+        CompletableFuture<String> loading = new CompletableFuture<>();
+        AtomicBoolean lockHeld = new AtomicBoolean(true);
+        loading.whenComplete((result, throwable) -> lockHeld.set(Thread.holdsLock(tracker)));
+        first.track(loading);
+
+        next();
+        assertTrue(loading.isCancelled());
+        assertFalse(lockHeld.get());
+    }
+
+    @Test
+    public void trackAfterSupersededCancelsImmediately() {
+        ChapterLoadTracker.Ticket first = next();
+        next();
+
+        CompletableFuture<String> loading = new CompletableFuture<>();
+        first.track(loading);
+        assertTrue(loading.isCancelled());
+    }
+
+    @Test
+    public void completedLoadIsBaseBeforeSessionSwitches() {
+        ChapterLoadTracker.Ticket first = next();
+        assertTrue(tracker.finish(first, true));
+
+        // 会话还未切换到第 6 章时又按了下一章，应加载第 7 章而不是再次加载第 6 章
+        assertEquals(7, next().chapterIndex());
+    }
+
+    @Test
+    public void failedLoadDoesNotMoveBase() {
+        ChapterLoadTracker.Ticket first = next();
+        assertTrue(tracker.finish(first, false));
+
+        assertEquals(6, next().chapterIndex());
+    }
+
+    @Test
+    public void currentIndexIsReadWhenNothingPending() {
+        sessionIndex.set(10);
+        assertEquals(11, next().chapterIndex());
+    }
+
+    @Test
+    public void otherBookUsesSessionIndex() {
+        tracker.finish(next(), true);
+
+        ChapterLoadTracker.Ticket ticket = tracker.begin("cmd", "http://book/2", sessionIndex::get, base -> base + 1);
+        assertEquals(6, ticket.chapterIndex());
+    }
+
+    @Test
+    public void boundaryReturnsNullAndKeepsPending() {
+        ChapterLoadTracker.Ticket pending = next();
+
+        assertNull(tracker.begin("cmd", BOOK, sessionIndex::get, base -> -1));
+        assertTrue(tracker.isLoading());
+        assertTrue(tracker.finish(pending, true));
+    }
+
+    @Test
+    public void cancelAllResetsBase() {
+        tracker.finish(next(), true);
+        tracker.cancelAll();
+
+        assertFalse(tracker.isLoading());
+        assertEquals(6, next().chapterIndex());
+    }
+
+    private ChapterLoadTracker.Ticket next() {
+        return tracker.begin("cmd", BOOK, sessionIndex::get, base -> base + 1);
+    }
+}
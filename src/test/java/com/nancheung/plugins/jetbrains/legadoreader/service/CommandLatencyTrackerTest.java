@@ -0,0 +1,60 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.nancheung.plugins.jetbrains.legadoreader.command.Command;
+import com.nancheung.plugins.jetbrains.legadoreader.command.CommandType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * CommandLatencyTracker 进行中指令的清理测试
+ *
+ * @author NanCheung
+ */
+public class CommandLatencyTrackerTest {
+
+    private final CommandLatencyTracker tracker = new CommandLatencyTracker();
+
+    @Test
+    public void synchronousCommandIsRemovedWhenDispatchEnds() {
+        Command command = Command.of(CommandType.NEXT_PAGE);
+        tracker.begin(command);
+        tracker.endDispatch(command);
+
+        assertEquals(0, tracker.getInFlightCount());
+    }
+
+    @Test
+    public void asyncCommandIsKeptUntilDiscarded() {
+        Command command = Command.of(CommandType.NEXT_CHAPTER);
+        tracker.begin(command);
+        tracker.expectResult(command.id());
+        tracker.endDispatch(command);
+        assertEquals(1, tracker.getInFlightCount());
+
+        tracker.discard(command.id());
+        assertEquals(0, tracker.getInFlightCount());
+    }
+
+    @Test
+    public void inFlightCommandsAreBounded() {
+        for (int i = 0; i < 1_000; i++) {
+            Command command = Command.of(CommandType.NEXT_CHAPTER);
+            tracker.begin(command);
+            tracker.expectResult(command.id());
+        }
+
+        assertEquals(256, tracker.getInFlightCount());
+    }
+
+    @Test
+    public void repeatedBeginKeepsOneEntry() {
+        Command command = Command.of(CommandType.NEXT_PAGE);
+        tracker.begin(command);
+        tracker.begin(command);
+
+        assertEquals(1, tracker.getInFlightCount());
+        tracker.endDispatch(command);
+        assertEquals(0, tracker.getInFlightCount());
+    }
+}
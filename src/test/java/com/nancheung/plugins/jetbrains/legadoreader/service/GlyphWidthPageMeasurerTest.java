@@ -0,0 +1,59 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * GlyphWidthPageMeasurer 测试（全角字符宽 10 像素，其余宽 5 像素）
+ *
+ * @author NanCheung
+ */
+public class GlyphWidthPageMeasurerTest {
+
+    private static final GlyphWidths WIDTHS = new GlyphWidths() {
+        @Override
+        public int width(int codePoint) {
+            return codePoint < 0x80 ? 5 : 10;
+        }
+
+        @Override
+        public String cacheKey() {
+            return "test";
+        }
+    };
+
+    @Test
+    public void fillsBudgetWithMixedWidths() {
+        GlyphWidthPageMeasurer measurer = new GlyphWidthPageMeasurer(WIDTHS, 30);
+
+        // 中(10) a(5) b(5) 文(10) = 30，下一个字放不下
+        assertEquals(4, measurer.nextBoundary("中ab文字", 0));
+        assertEquals(5, measurer.nextBoundary("中ab文字", 4));
+    }
+
+    @Test
+    public void budgetFitsAtLeastOneFullWidthChar() {
+        GlyphWidthPageMeasurer measurer = new GlyphWidthPageMeasurer(WIDTHS, 1);
+
+        assertEquals(10, measurer.getPixelBudget());
+        assertEquals(1, measurer.nextBoundary("中文", 0));
+    }
+
+    @Test
+    public void neverSplitsSurrogatePair() {
+        GlyphWidthPageMeasurer measurer = new GlyphWidthPageMeasurer(WIDTHS, 10);
+        String content = "𠮷文";
+
+        assertEquals(2, measurer.nextBoundary(content, 0));
+    }
+
+    @Test
+    public void cacheKeyIncludesWidthsAndBudget() {
+        assertEquals("font:test@40", new GlyphWidthPageMeasurer(WIDTHS, 40).cacheKey());
+        assertNotEquals(new GlyphWidthPageMeasurer(WIDTHS, 40).cacheKey(),
+                new GlyphWidthPageMeasurer(WIDTHS, 50).cacheKey());
+        assertEquals(4, new GlyphWidthPageMeasurer(WIDTHS, 40).estimatedCharsPerPage());
+    }
+}
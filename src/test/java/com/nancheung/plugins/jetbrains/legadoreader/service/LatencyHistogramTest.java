@@ -0,0 +1,87 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * LatencyHistogram 测试
+ *
+ * @author NanCheung
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptySnapshotIsZero() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(new LatencyHistogram.Snapshot(0, 0, 0, 0, 0, 0), snapshot);
+    }
+
+    @Test
+    public void percentilesUseBucketUpperBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 90 次 1.5 ms（落在 2 ms 桶），10 次 40 ms（落在 50 ms 桶）
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(1_500));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(40));
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.count());
+        assertEquals(2_000, snapshot.p50Micros());
+        assertEquals(40_000, snapshot.p95Micros());
+        assertEquals(40_000, snapshot.p99Micros());
+        assertEquals(40_000, snapshot.maxMicros());
+        assertEquals((90 * 1_500 + 10 * 40_000) / 100, snapshot.meanMicros());
+    }
+
+    @Test
+    public void percentilesNeverExceedMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(120));
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(120, snapshot.p50Micros());
+        assertEquals(120, snapshot.p99Micros());
+    }
+
+    @Test
+    public void outOfRangeValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(TimeUnit.MINUTES.toNanos(2));
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        // 负数按 0 计入第一个桶（上边界 50 微秒），超出范围的值计入最后一个桶
+        assertEquals(2, snapshot.count());
+        assertEquals(50, snapshot.p50Micros());
+        assertEquals(TimeUnit.MINUTES.toMicros(2), snapshot.maxMicros());
+    }
+
+    @Test
+    public void concurrentRecordsAreAllCounted() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(TimeUnit.MICROSECONDS.toNanos(i % 1_000));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(40_000, snapshot.count());
+        assertTrue(snapshot.p99Micros() <= snapshot.maxMicros());
+    }
+}
@@ -0,0 +1,91 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.nancheung.plugins.jetbrains.legadoreader.common.MicroBenchmark;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分页基准测试：按偏移量增量分页（{@link PaginationManager.Layout}）vs 一次性切分出所有页的字符串
+ * 分别测量打开章节只显示第一页，以及从头翻到章节末尾两种场景的耗时和内存分配
+ *
+ * @author NanCheung
+ */
+public class PaginationLayoutBenchmark {
+
+    private static final int OPERATIONS = 200;
+    private static final int PAGE_SIZE = 40;
+
+    private String chapter;
+    private PageMeasurer measurer;
+
+    @Before
+    public void setUp() {
+        MicroBenchmark.assumeEnabled();
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; content.length() < 8_000; i++) {
+            content.append("第").append(i).append("段，他抬头看了看天色，说道：“今天怕是要下雨了。”\n");
+        }
+        chapter = content.toString();
+        measurer = new CharCountPageMeasurer(PAGE_SIZE);
+    }
+
+    @Test
+    public void offsetPagesVersusMaterializedPages() {
+        MicroBenchmark.run("偏移量分页：打开章节显示第一页", OPERATIONS, () -> {
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                sum += newLayout().page(0).content().length();
+            }
+            return sum;
+        });
+        MicroBenchmark.run("切分字符串：打开章节显示第一页", OPERATIONS, () -> {
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                sum += materialize().get(0).length();
+            }
+            return sum;
+        });
+
+        MicroBenchmark.run("偏移量分页：从头翻到章节末尾", OPERATIONS, () -> {
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                PaginationManager.Layout layout = newLayout();
+                IPaginationManager.PageData page;
+                for (int index = 0; (page = layout.page(index)) != null; index++) {
+                    sum += page.content().charAt(0);
+                }
+            }
+            return sum;
+        });
+        MicroBenchmark.run("切分字符串：从头翻到章节末尾", OPERATIONS, () -> {
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                for (String page : materialize()) {
+                    sum += page.charAt(0);
+                }
+            }
+            return sum;
+        });
+    }
+
+    private PaginationManager.Layout newLayout() {
+        return new PaginationManager.Layout(chapter, measurer, PunctuationBoundaryStrategy.DEFAULT);
+    }
+
+    /**
+     * 使用相同的页边界一次性切分出所有页（增量分页之前的做法）
+     */
+    private List<String> materialize() {
+        List<String> pages = new ArrayList<>();
+        for (int start = 0; start < chapter.length(); ) {
+            int end = PunctuationBoundaryStrategy.DEFAULT.adjust(chapter, start, measurer.nextBoundary(chapter, start));
+            pages.add(chapter.substring(start, end));
+            start = end;
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,149 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * PaginationManager.Layout（增量页边界）测试
+ *
+ * @author NanCheung
+ */
+public class PaginationManagerLayoutTest {
+
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @Test
+    public void pagesAreContiguousAndCoverContent() {
+        Random random = new Random(11L);
+        for (int i = 0; i < 200; i++) {
+            String content = randomText(random);
+            int pageSize = 1 + random.nextInt(20);
+            PaginationManager.Layout layout = new PaginationManager.Layout(content,
+                    new CharCountPageMeasurer(pageSize), PunctuationBoundaryStrategy.DEFAULT);
+
+            StringBuilder joined = new StringBuilder();
+            int expectedStart = 0;
+            IPaginationManager.PageData page;
+            for (int index = 0; (page = layout.page(index)) != null; index++) {
+                assertEquals(index, page.pageIndex());
+                assertEquals(expectedStart, page.startPos());
+                assertTrue(page.endPos() > page.startPos());
+                joined.append(page.content());
+                expectedStart = page.endPos();
+            }
+
+            assertEquals(content, joined.toString());
+            assertEquals(layout.pageCount(), layout.lastPage().pageIndex() + 1);
+        }
+    }
+
+    @Test
+    public void boundariesAreComputedLazily() {
+        CountingMeasurer measurer = new CountingMeasurer(4);
+        PaginationManager.Layout layout = new PaginationManager.Layout(CONTENT, measurer, PageBoundaryStrategy.NONE);
+
+        assertEquals("4567", layout.page(1).content().toString());
+        assertEquals(2, measurer.calls);
+
+        // 已计算的页不重复计算
+        layout.page(0);
+        layout.page(1);
+        assertEquals(2, measurer.calls);
+    }
+
+    @Test
+    public void pageCountIsEstimatedUntilComplete() {
+        PaginationManager.Layout layout = new PaginationManager.Layout(CONTENT + "xyz",
+                new CharCountPageMeasurer(10), PageBoundaryStrategy.NONE);
+
+        layout.page(0);
+        assertEquals(4, layout.pageCount());
+
+        IPaginationManager.PageData last = layout.lastPage();
+        assertEquals(3, last.pageIndex());
+        assertEquals(CONTENT.length() + 3, last.endPos());
+        assertEquals(4, layout.pageCount());
+        assertNull(layout.page(4));
+    }
+
+    @Test
+    public void pageContainingFindsOffset() {
+        PaginationManager.Layout layout = new PaginationManager.Layout(CONTENT,
+                new CharCountPageMeasurer(10), PageBoundaryStrategy.NONE);
+
+        assertEquals(0, layout.pageContaining(0).pageIndex());
+        assertEquals(0, layout.pageContaining(9).pageIndex());
+        assertEquals(1, layout.pageContaining(10).pageIndex());
+        assertEquals(2, layout.pageContaining(25).pageIndex());
+        // 超出范围时取最近的有效位置
+        assertEquals(3, layout.pageContaining(1_000).pageIndex());
+        assertEquals(0, layout.pageContaining(-5).pageIndex());
+    }
+
+    @Test
+    public void emptyLayoutHasNoPages() {
+        PaginationManager.Layout layout = PaginationManager.Layout.EMPTY;
+
+        assertTrue(layout.isEmpty());
+        assertEquals(0, layout.pageCount());
+        assertNull(layout.page(0));
+        assertNull(layout.pageContaining(0));
+    }
+
+    @Test
+    public void offsetsGrowBeyondInitialCapacity() {
+        String content = "字".repeat(100);
+        PaginationManager.Layout layout = new PaginationManager.Layout(content,
+                new CharCountPageMeasurer(1), PageBoundaryStrategy.NONE);
+
+        IPaginationManager.PageData last = layout.lastPage();
+        assertNotNull(last);
+        assertEquals(99, last.pageIndex());
+        assertEquals(57, layout.pageContaining(57).pageIndex());
+    }
+
+    private static String randomText(Random random) {
+        String alphabet = "中文ab 。，「」.3";
+        StringBuilder builder = new StringBuilder();
+        int length = 1 + random.nextInt(200);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 记录调用次数的按字符数度量策略
+     */
+    private static final class CountingMeasurer implements PageMeasurer {
+
+        private final CharCountPageMeasurer delegate;
+        private int calls;
+
+        CountingMeasurer(int pageSize) {
+            this.delegate = new CharCountPageMeasurer(pageSize);
+        }
+
+        @Override
+        public int nextBoundary(String content, int start) {
+            calls++;
+            return delegate.nextBoundary(content, start);
+        }
+
+        @Override
+        public int estimatedCharsPerPage() {
+            return delegate.estimatedCharsPerPage();
+        }
+
+        @Override
+        public String cacheKey() {
+            return delegate.cacheKey();
+        }
+    }
+}
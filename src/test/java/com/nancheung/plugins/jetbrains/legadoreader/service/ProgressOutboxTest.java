@@ -0,0 +1,191 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookDTO;
+import com.nancheung.plugins.jetbrains.legadoreader.api.dto.BookProgressDTO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ProgressOutbox 测试（日志写入临时目录，在调用线程执行日志读写，发送和书架使用假实现）
+ *
+ * @author NanCheung
+ */
+public class ProgressOutboxTest {
+
+    private Path directory;
+    private Path journal;
+    private final AtomicInteger sends = new AtomicInteger();
+    private final AtomicInteger bookshelfQueries = new AtomicInteger();
+
+    /**
+     * 服务器书架上的书籍
+     */
+    private final List<BookDTO> books = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("progress-outbox");
+        journal = directory.resolve("progress-outbox.jsonl");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(journal);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void offlineEnqueuesShareOneRetryChain() {
+        ProgressOutbox outbox = outbox(progress -> {
+            sends.incrementAndGet();
+            return CompletableFuture.failedFuture(new IOException("offline"));
+        });
+
+        for (int i = 0; i < 5; i++) {
+            outbox.enqueue(progress("http://book/" + i, 100 + i));
+        }
+
+        // 第一次发送失败后只安排一次重试，之后写入的进度等待这次重试
+        assertEquals(1, sends.get());
+        assertTrue(outbox.isRetryScheduled());
+        assertEquals(5, outbox.size());
+        outbox.dispose();
+    }
+
+    @Test
+    public void persistOnlyWritesJournal() {
+        ProgressOutbox outbox = outbox(progress -> {
+            sends.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertTrue(outbox.persist(progress("http://book/1", 100)).join());
+        assertEquals(0, sends.get());
+
+        // 下次启动时从日志恢复
+        ProgressOutbox restored = outbox(progress -> CompletableFuture.completedFuture(null));
+        assertEquals(1, restored.size());
+    }
+
+    @Test
+    public void successfulDrainClearsJournal() {
+        ProgressOutbox outbox = outbox(progress -> {
+            sends.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        outbox.enqueue(progress("http://book/1", 100));
+        outbox.enqueue(progress("http://book/2", 200));
+
+        assertEquals(2, sends.get());
+        assertEquals(0, outbox.size());
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    public void olderProgressIsIgnored() {
+        ProgressOutbox outbox = outbox(progress -> new CompletableFuture<>());
+
+        assertTrue(outbox.persist(progress("http://book/1", 200)).join());
+        assertFalse(outbox.persist(progress("http://book/1", 100)).join());
+        assertEquals(1, outbox.size());
+    }
+
+    @Test
+    public void replayedProgressIsDroppedWhenServerIsNewer() {
+        outbox(progress -> CompletableFuture.completedFuture(null)).persist(progress("http://book/1", 100)).join();
+        books.add(book("http://book/1", 200));
+
+        ProgressOutbox restored = outbox(progress -> {
+            sends.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+        restored.replayAsync();
+
+        assertEquals(1, bookshelfQueries.get());
+        assertEquals(0, sends.get());
+        assertEquals(0, restored.size());
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    public void replayedProgressIsSentWhenServerIsOlder() {
+        outbox(progress -> CompletableFuture.completedFuture(null)).persist(progress("http://book/1", 100)).join();
+        books.add(book("http://book/1", 50));
+
+        ProgressOutbox restored = outbox(progress -> {
+            sends.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+        restored.replayAsync();
+
+        assertEquals(1, bookshelfQueries.get());
+        assertEquals(1, sends.get());
+        assertEquals(0, restored.size());
+    }
+
+    @Test
+    public void freshProgressIsSentWithoutQueryingServer() {
+        ProgressOutbox outbox = outbox(progress -> {
+            sends.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        outbox.enqueue(progress("http://book/1", 100));
+
+        assertEquals(0, bookshelfQueries.get());
+        assertEquals(1, sends.get());
+    }
+
+    @Test
+    public void journalIsWrittenOnExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        ProgressOutbox outbox = new ProgressOutbox(journal, tasks::add, progress -> new CompletableFuture<>(), this::bookshelf);
+
+        outbox.enqueue(progress("http://book/1", 100));
+        assertFalse(Files.exists(journal));
+
+        tasks.forEach(Runnable::run);
+        assertTrue(Files.exists(journal));
+    }
+
+    private ProgressOutbox outbox(Function<BookProgressDTO, CompletableFuture<?>> sender) {
+        return new ProgressOutbox(journal, Runnable::run, sender, this::bookshelf);
+    }
+
+    private CompletableFuture<List<BookDTO>> bookshelf() {
+        bookshelfQueries.incrementAndGet();
+        return CompletableFuture.completedFuture(books);
+    }
+
+    private static BookDTO book(String url, long time) {
+        BookDTO book = new BookDTO();
+        book.setBookUrl(url);
+        book.setDurChapterTime(time);
+        return book;
+    }
+
+    private static BookProgressDTO progress(String url, long time) {
+        return BookProgressDTO.builder()
+                .url(url)
+                .name(url)
+                .durChapterIndex(1)
+                .durChapterPos(0)
+                .durChapterTime(time)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import com.nancheung.plugins.jetbrains.legadoreader.common.MicroBenchmark;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 页边界调整基准测试：{@link PunctuationBoundaryStrategy#adjust} 在整章分页中的吞吐量
+ * 以不调整边界的 {@link PageBoundaryStrategy#NONE} 为基线，分别测量中文、英文（含数字和引号）两种正文
+ *
+ * @author NanCheung
+ */
+public class PunctuationBoundaryStrategyBenchmark {
+
+    private static final int PAGE_SIZE = 40;
+
+    private String chinese;
+    private String english;
+
+    @Before
+    public void setUp() {
+        MicroBenchmark.assumeEnabled();
+
+        chinese = repeat("他抬头看了看天色，说道：“今天怕是要下雨了。”她没有回答——只是笑了笑……\n");
+        english = repeat("\"It's 3.14, not 3,14,\" she said. He paused: 'Fine!' Then, at 10:30, they left.\n");
+    }
+
+    @Test
+    public void adjustThroughput() {
+        measure("中文", chinese);
+        measure("英文", english);
+    }
+
+    private static void measure(String name, String content) {
+        int boundaries = content.length() / PAGE_SIZE;
+        MicroBenchmark.run(name + "：不调整边界", boundaries, () -> paginate(content, PageBoundaryStrategy.NONE));
+        MicroBenchmark.run(name + "：按标点调整边界", boundaries, () -> paginate(content, PunctuationBoundaryStrategy.DEFAULT));
+    }
+
+    /**
+     * 按固定字数从头分页到末尾
+     *
+     * @return 页数
+     */
+    private static long paginate(String content, PageBoundaryStrategy strategy) {
+        long pages = 0;
+        for (int start = 0; start < content.length(); pages++) {
+            start = strategy.adjust(content, start, Math.min(content.length(), start + PAGE_SIZE));
+        }
+        return pages;
+    }
+
+    private static String repeat(String paragraph) {
+        return paragraph.repeat(100_000 / paragraph.length() + 1);
+    }
+}
@@ -0,0 +1,151 @@
+package com.nancheung.plugins.jetbrains.legadoreader.service;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * PunctuationBoundaryStrategy 测试
+ * 除固定用例外，以固定种子随机生成混排文本，检查任意页起点和度量结果下断页点都满足的性质
+ *
+ * @author NanCheung
+ */
+public class PunctuationBoundaryStrategyTest {
+
+    private static final PunctuationBoundaryStrategy STRATEGY = PunctuationBoundaryStrategy.DEFAULT;
+
+    /**
+     * 随机文本的组成片段：中英文、数字、中英文标点、ASCII 引号、组合字符、代理对、肤色修饰符、ZWJ 序列
+     */
+    private static final String[] FRAGMENTS = {
+            "中", "文", "a", "b", "1", "2", " ", "\n",
+            ".", ",", ":", "!", "\"", "'",
+            "，", "。", "「", "」", "“", "”", "(", ")",
+            "é", "𠮷", "👍🏽", "👨‍👩‍👧"
+    };
+
+    private static final int ITERATIONS = 2_000;
+
+    @Test
+    public void decimalPointIsNotBreakable() {
+        String content = "圆周率约等于 3.14159265 是常识";
+        // 度量结果落在小数点之后，不能在 "3." 和 "14" 之间断开，退回到数字前的空白
+        int maxEnd = content.indexOf('.') + 1;
+
+        int end = new PunctuationBoundaryStrategy(1).adjust(content, 0, maxEnd);
+        assertEquals(content.indexOf('3'), end);
+    }
+
+    @Test
+    public void periodBeforeWhitespaceIsBreakable() {
+        String content = "He left. Then she came back";
+        int maxEnd = content.indexOf("Then") + 2;
+
+        assertEquals(content.indexOf("Then"), STRATEGY.adjust(content, 0, maxEnd));
+    }
+
+    @Test
+    public void asciiQuoteFollowedByTextIsOpening() {
+        String content = "abcdefgh \"quoted\" ijk";
+        // 开始引号之后不断页；结束引号后紧跟空白，断在引号之后
+        int maxEnd = content.indexOf("ijk") - 1;
+
+        int end = STRATEGY.adjust(content, 0, maxEnd);
+        assertEquals(content.indexOf("ijk") - 1, end);
+        assertEquals('"', content.charAt(end - 1));
+    }
+
+    @Test
+    public void apostropheInsideWordIsNotClosing() {
+        String content = "xxxxxxxxxxxxdon'tstop";
+        int maxEnd = content.indexOf('t', content.indexOf('\'')) + 1;
+
+        // 窗口内没有断点，退回度量结果
+        assertEquals(maxEnd, STRATEGY.adjust(content, 0, maxEnd));
+    }
+
+    @Test
+    public void closingQuoteStaysOnPage() {
+        String content = "他说：「走吧。」然后离开了";
+        int maxEnd = content.indexOf('」');
+
+        assertEquals(content.indexOf('」') + 1, STRATEGY.adjust(content, 0, maxEnd + 1));
+    }
+
+    @Test
+    public void resultIsWithinRangeAndOnGraphemeBoundary() {
+        Random random = new Random(20240601L);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String content = randomText(random);
+            int start = random.nextInt(content.length());
+            int maxEnd = start + 1 + random.nextInt(content.length() - start);
+
+            int end = STRATEGY.adjust(content, start, maxEnd);
+            String message = describe(content, start, maxEnd, end);
+            assertTrue(message, end > start && end <= content.length());
+            assertTrue(message, PunctuationBoundaryStrategy.isGraphemeBoundary(content, end));
+            // 只有整页是一个超长字素簇时才会超出度量结果
+            if (end > maxEnd) {
+                for (int pos = start + 1; pos <= maxEnd; pos++) {
+                    assertFalse(message, PunctuationBoundaryStrategy.isGraphemeBoundary(content, pos));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void punctuationBreaksRespectDigitsAndQuotes() {
+        Random random = new Random(7L);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String content = randomText(random);
+            int start = random.nextInt(content.length());
+            int maxEnd = start + 1 + random.nextInt(content.length() - start);
+
+            int end = STRATEGY.adjust(content, start, maxEnd);
+            // 退回度量结果时不保证落在标点处，只检查按标点选出的断点
+            if (end >= content.length() || end > maxEnd || end == fallback(content, start, maxEnd)) {
+                continue;
+            }
+
+            String message = describe(content, start, maxEnd, end);
+            char before = content.charAt(end - 1);
+            char after = content.charAt(end);
+            assertFalse(message, (before == '.' || before == ',' || before == ':') && Character.isDigit(after));
+            // 新的一页不以结束引号/括号开头
+            assertFalse(message, "」”)".indexOf(after) >= 0);
+            assertFalse(message, (after == '"' || after == '\'')
+                    && (end + 1 == content.length() || Character.isWhitespace(content.charAt(end + 1))));
+            // ASCII 引号后紧跟文字时是开始引号，不在其后断开
+            assertFalse(message, (before == '"' || before == '\'') && !Character.isWhitespace(after)
+                    && "「“(".indexOf(after) < 0);
+        }
+    }
+
+    /**
+     * 没有标点可用时的断页位置（度量结果之前最近的字素簇边界）
+     */
+    private static int fallback(String content, int start, int maxEnd) {
+        int end = maxEnd;
+        while (end > start + 1 && !PunctuationBoundaryStrategy.isGraphemeBoundary(content, end)) {
+            end--;
+        }
+        return end;
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int fragments = 1 + random.nextInt(60);
+        for (int i = 0; i < fragments; i++) {
+            builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String describe(String content, int start, int maxEnd, int end) {
+        return "content=[" + content + "], start=" + start + ", maxEnd=" + maxEnd + ", end=" + end;
+    }
+}